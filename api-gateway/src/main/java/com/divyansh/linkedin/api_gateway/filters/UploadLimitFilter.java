@@ -0,0 +1,104 @@
+package com.divyansh.linkedin.api_gateway.filters;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Guards upload routes without buffering them: the declared Content-Length is checked before any of
+ * the body is read, the body is passed through as it streams with a running byte count in case the
+ * client sends more than it declared, and each user may only have a few uploads in flight.
+ * Must come after AuthenticationFilter, which sets X-User-Id.
+ */
+@Slf4j
+@Component
+public class UploadLimitFilter extends AbstractGatewayFilterFactory<UploadLimitFilter.Config> {
+
+    private final ConcurrentHashMap<String, Integer> uploadsInFlight = new ConcurrentHashMap<>();
+
+    public UploadLimitFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long maxBytes = DataSize.parse(config.getMaxSize()).toBytes();
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.POST && request.getMethod() != HttpMethod.PUT) {
+                return chain.filter(exchange);
+            }
+
+            if (request.getHeaders().getContentLength() < 0 && request.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+                return reject(exchange, HttpStatus.LENGTH_REQUIRED, "Upload without Content-Length");
+            }
+            // neither header means there is no body
+            long contentLength = Math.max(0, request.getHeaders().getContentLength());
+            if (contentLength > maxBytes) {
+                return reject(exchange, HttpStatus.PAYLOAD_TOO_LARGE, "Upload of " + contentLength + " bytes");
+            }
+
+            String userId = request.getHeaders().getFirst("X-User-Id");
+            if (userId == null || !tryAcquire(userId, config.getMaxConcurrentUploadsPerUser())) {
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent uploads for user " + userId);
+            }
+
+            ServerHttpRequest limited = new ServerHttpRequestDecorator(request) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    AtomicLong received = new AtomicLong();
+                    return super.getBody().doOnNext(buffer -> {
+                        if (received.addAndGet(buffer.readableByteCount()) > Math.min(contentLength, maxBytes)) {
+                            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Upload is larger than its Content-Length");
+                        }
+                    });
+                }
+            };
+            return chain.filter(exchange.mutate().request(limited).build())
+                    .doFinally(signal -> release(userId));
+        };
+    }
+
+    private boolean tryAcquire(String userId, int maxConcurrentUploads) {
+        boolean[] acquired = new boolean[1];
+        uploadsInFlight.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            acquired[0] = current < maxConcurrentUploads;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0];
+    }
+
+    private void release(String userId) {
+        uploadsInFlight.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String reason) {
+        log.warn("Rejected upload {}: {}", exchange.getRequest().getURI(), reason);
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    @Data
+    public static class Config {
+
+        private String maxSize = "500MB";
+        private int maxConcurrentUploadsPerUser = 3;
+    }
+}
@@ -0,0 +1,148 @@
+package com.divyansh.linkedin.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmarks with the GC profiler and checks them against the committed baseline.
+ * <pre>
+ * java -jar target/benchmarks.jar [--update-baseline] [--baseline=baseline.json] [--tolerance=0.10] [regex...]
+ * </pre>
+ * Results are written as JMH JSON. A benchmark regresses when its score, or its allocation per
+ * operation, is worse than the baseline by more than the tolerance; the runner then exits with 1.
+ * So does a benchmark that throws, or a baseline entry of the selected benchmarks without a result.
+ * A missing baseline is an error too, the baseline is only written with --update-baseline. For ad
+ * hoc runs the usual JMH command line is available as org.openjdk.jmh.Main.
+ */
+public class BenchmarkRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // allocation noise, in bytes per operation, that never counts as a regression
+    private static final double ALLOCATION_SLACK = 16;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baseline = Path.of("baseline.json");
+        Path results = Path.of("target", "jmh-result.json");
+        double tolerance = 0.10;
+        boolean updateBaseline = false;
+        List<String> includes = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--update-baseline")) updateBaseline = true;
+            else if (arg.startsWith("--baseline=")) baseline = Path.of(arg.substring("--baseline=".length()));
+            else if (arg.startsWith("--tolerance=")) tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            else includes.add(arg);
+        }
+
+        if (!updateBaseline && !Files.exists(baseline)) {
+            System.err.println("No baseline at " + baseline.toAbsolutePath() + ", record one with --update-baseline");
+            System.exit(1);
+        }
+
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString());
+        if (includes.isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+        includes.forEach(options::include);
+        new Runner(options.build()).run();
+
+        if (updateBaseline) {
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + baseline.toAbsolutePath());
+            return;
+        }
+        if (!compare(baseline, results, tolerance, includes)) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean compare(Path baselineFile, Path resultsFile, double tolerance, List<String> includes) throws IOException {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = byKey(jsonMapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> results = byKey(jsonMapper.readTree(resultsFile.toFile()));
+
+        boolean passed = true;
+        System.out.printf("%n%-90s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Score", "Change", "B/op base", "B/op");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f%n", entry.getKey(), "new", score(after));
+                continue;
+            }
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").asString());
+            double change = (score(after) - score(before)) / score(before);
+            boolean slower = higherIsBetter ? change < -tolerance : change > tolerance;
+            double allocationBefore = allocation(before);
+            double allocationAfter = allocation(after);
+            boolean allocatesMore = allocationAfter > allocationBefore * (1 + tolerance) + ALLOCATION_SLACK;
+
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %12.0f %12.0f%s%n", entry.getKey(), score(before), score(after),
+                    change * 100, allocationBefore, allocationAfter, slower || allocatesMore ? "  REGRESSION" : "");
+            passed &= !slower && !allocatesMore;
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key) && isIncluded(key, includes)) {
+                System.out.printf("%-90s %14.3f %14s  MISSING%n", key, score(baseline.get(key)), "no result");
+                passed = false;
+            }
+        }
+        System.out.println(passed ? "No regressions against " + baselineFile : "Regressions against " + baselineFile);
+        return passed;
+    }
+
+    // the same match JMH applies to the include patterns
+    private static boolean isIncluded(String key, List<String> includes) {
+        String benchmark = key.split(" ", 2)[0];
+        return includes.isEmpty() || includes.stream().anyMatch(include -> Pattern.compile(include).matcher(benchmark).find());
+    }
+
+    private static Map<String, JsonNode> byKey(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asString());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.properties().forEach(param -> sorted.put(param.getKey(), param.getValue().asString()));
+                sorted.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private static double score(JsonNode run) {
+        return run.get("primaryMetric").get("score").asDouble();
+    }
+
+    private static double allocation(JsonNode run) {
+        JsonNode secondary = run.get("secondaryMetrics");
+        if (secondary == null) return 0;
+        for (Map.Entry<String, JsonNode> metric : secondary.properties()) {
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) return metric.getValue().get("score").asDouble();
+        }
+        return 0;
+    }
+}
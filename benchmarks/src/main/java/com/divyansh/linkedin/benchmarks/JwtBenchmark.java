@@ -0,0 +1,67 @@
+package com.divyansh.linkedin.benchmarks;
+
+import com.divyansh.linkedin.user_service.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as api-gateway does it for every authenticated request, and token
+ * generation as user-service does it on login.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET_KEY = "as89gah907d80had9h9a7d90ha6d79h5a9dh09da09k98a6k8aey98ha896rh9";
+
+    private com.divyansh.linkedin.api_gateway.JWTService gatewayJwtService;
+    private com.divyansh.linkedin.user_service.service.JWTService userJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        gatewayJwtService = new com.divyansh.linkedin.api_gateway.JWTService();
+        setSecretKey(gatewayJwtService);
+        userJwtService = new com.divyansh.linkedin.user_service.service.JWTService();
+        setSecretKey(userJwtService);
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("jane.doe@example.com");
+        user.setName("Jane Doe");
+        token = userJwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String gatewayParseAndVerify() {
+        return gatewayJwtService.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public String userServiceGenerate() {
+        return userJwtService.generateAccessToken(user);
+    }
+
+    // the services get the key through @Value
+    private static void setSecretKey(Object jwtService) throws ReflectiveOperationException {
+        Field field = jwtService.getClass().getDeclaredField("jwtSecretKey");
+        field.setAccessible(true);
+        field.set(jwtService, SECRET_KEY);
+    }
+}
@@ -0,0 +1,111 @@
+package com.divyansh.linkedin.benchmarks;
+
+import com.divyansh.linkedin.connections_service.event.AcceptConnectionRequestEvent;
+import com.divyansh.linkedin.connections_service.event.SendConnectionRequestEvent;
+import com.divyansh.linkedin.posts_service.event.PostCreatedEvent;
+import com.divyansh.linkedin.posts_service.event.PostLikedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event (de)serialization with the JsonSerializer the producers are configured with and the
+ * JsonDeserializer notification-service delegates to, including the type id headers. The events
+ * are notification-service's copies, which have the same class names and properties as the
+ * producers' classes, so the JSON and headers are the same as on the wire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+// JsonSerializer/JsonDeserializer are deprecated for removal, but they are what the services are configured with
+@SuppressWarnings("removal")
+public class KafkaJsonBenchmark {
+
+    private static final String TOPIC = "benchmark-topic";
+    private static final String EVENT_ID = "5f0c3b7e-2d4a-4c1e-9b8f-1a2b3c4d5e6f";
+
+    @Param({"PostCreatedEvent", "PostLikedEvent", "SendConnectionRequestEvent", "AcceptConnectionRequestEvent"})
+    private String eventType;
+
+    private final JsonSerializer<Object> serializer = new JsonSerializer<>();
+    private final JsonDeserializer<Object> deserializer = new JsonDeserializer<>();
+    private Object event;
+    private RecordHeaders headers;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        // the headers are shared by every invocation, so the type id must stay in them
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.divyansh.linkedin.*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+        event = switch (eventType) {
+            case "PostCreatedEvent" -> {
+                PostCreatedEvent postCreatedEvent = new PostCreatedEvent();
+                postCreatedEvent.setEventId(EVENT_ID);
+                postCreatedEvent.setPostId(1001L);
+                postCreatedEvent.setCreatorId(7L);
+                postCreatedEvent.setContent("Excited to share that I have started a new position as a staff engineer");
+                yield postCreatedEvent;
+            }
+            case "PostLikedEvent" -> {
+                PostLikedEvent postLikedEvent = new PostLikedEvent();
+                postLikedEvent.setEventId(EVENT_ID);
+                postLikedEvent.setPostId(1001L);
+                postLikedEvent.setCreatorId(7L);
+                postLikedEvent.setLikedByUserId(42L);
+                yield postLikedEvent;
+            }
+            case "SendConnectionRequestEvent" -> {
+                SendConnectionRequestEvent sendConnectionRequestEvent = new SendConnectionRequestEvent();
+                sendConnectionRequestEvent.setEventId(EVENT_ID);
+                sendConnectionRequestEvent.setSenderId(42L);
+                sendConnectionRequestEvent.setReceiverId(7L);
+                yield sendConnectionRequestEvent;
+            }
+            case "AcceptConnectionRequestEvent" -> {
+                AcceptConnectionRequestEvent acceptConnectionRequestEvent = new AcceptConnectionRequestEvent();
+                acceptConnectionRequestEvent.setEventId(EVENT_ID);
+                acceptConnectionRequestEvent.setSenderId(42L);
+                acceptConnectionRequestEvent.setReceiverId(7L);
+                yield acceptConnectionRequestEvent;
+            }
+            default -> throw new IllegalArgumentException(eventType);
+        };
+        headers = new RecordHeaders();
+        payload = serializer.serialize(TOPIC, headers, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializer.deserialize(TOPIC, headers, payload);
+    }
+}
@@ -0,0 +1,135 @@
+package com.divyansh.linkedin.benchmarks;
+
+import com.divyansh.linkedin.posts_service.dto.PostCreateRequestDTO;
+import com.divyansh.linkedin.posts_service.dto.PostDTO;
+import com.divyansh.linkedin.posts_service.entity.Post;
+import com.divyansh.linkedin.posts_service.mapper.PostMapper;
+import com.divyansh.linkedin.user_service.dto.SignUpRequestDTO;
+import com.divyansh.linkedin.user_service.dto.UserDTO;
+import com.divyansh.linkedin.user_service.entity.User;
+import com.divyansh.linkedin.user_service.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping as posts-service and user-service did it with ModelMapper, against the
+ * hand-written mappers that replaced it. Run with -prof gc for the allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    // size of the getAllPostsForUser result
+    @Param({"20"})
+    private int feedSize;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private Post post;
+    private List<Post> feed;
+    private PostCreateRequestDTO postCreateRequestDTO;
+    private SignUpRequestDTO signUpRequestDTO;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        post = post(1L);
+        feed = new ArrayList<>(feedSize);
+        for (int i = 0; i < feedSize; i++) {
+            feed.add(post(i));
+        }
+
+        postCreateRequestDTO = new PostCreateRequestDTO();
+        postCreateRequestDTO.setContent("Excited to share that I have started a new position");
+
+        signUpRequestDTO = new SignUpRequestDTO();
+        signUpRequestDTO.setEmail("jane.doe@example.com");
+        signUpRequestDTO.setName("Jane Doe");
+        signUpRequestDTO.setPassword("correct horse battery staple");
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("jane.doe@example.com");
+        user.setName("Jane Doe");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+    }
+
+    @Benchmark
+    public PostDTO postToDTO_modelMapper() {
+        return modelMapper.map(post, PostDTO.class);
+    }
+
+    @Benchmark
+    public PostDTO postToDTO_mapper() {
+        return PostMapper.toDTO(post);
+    }
+
+    @Benchmark
+    public List<PostDTO> feedToDTOs_modelMapper() {
+        return feed.stream()
+                .map(element -> modelMapper.map(element, PostDTO.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PostDTO> feedToDTOs_mapper() {
+        return PostMapper.toDTOs(feed);
+    }
+
+    @Benchmark
+    public Post createRequestToPost_modelMapper() {
+        return modelMapper.map(postCreateRequestDTO, Post.class);
+    }
+
+    @Benchmark
+    public Post createRequestToPost_mapper() {
+        return PostMapper.toEntity(postCreateRequestDTO);
+    }
+
+    @Benchmark
+    public User signUpToUser_modelMapper() {
+        return modelMapper.map(signUpRequestDTO, User.class);
+    }
+
+    @Benchmark
+    public User signUpToUser_mapper() {
+        return UserMapper.toEntity(signUpRequestDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO_modelMapper() {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO_mapper() {
+        return UserMapper.toDTO(user);
+    }
+
+    private static Post post(long id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(7L);
+        post.setContent("Post number " + id + " about distributed systems");
+        post.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        return post;
+    }
+}
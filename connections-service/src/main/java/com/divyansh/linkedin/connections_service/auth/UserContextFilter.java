@@ -0,0 +1,22 @@
+package com.divyansh.linkedin.connections_service.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+public class UserContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String userId = request.getHeader("X-User-Id");
+        try (UserContextHolder.Scope ignored = UserContextHolder.bind(userId != null ? Long.valueOf(userId) : null)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
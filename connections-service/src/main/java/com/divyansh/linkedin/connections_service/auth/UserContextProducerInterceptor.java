@@ -0,0 +1,36 @@
+package com.divyansh.linkedin.connections_service.auth;
+
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Adds the X-User-Id header to records sent while serving a user's request.
+ * Runs on the thread calling send, so it sees the caller's context.
+ */
+public class UserContextProducerInterceptor implements ProducerInterceptor<Object, Object> {
+
+    @Override
+    public ProducerRecord<Object, Object> onSend(ProducerRecord<Object, Object> record) {
+        Long userId = UserContextHolder.getCurrentUserId();
+        if (userId != null && record.headers().lastHeader("X-User-Id") == null) {
+            record.headers().add("X-User-Id", userId.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.divyansh.linkedin.connections_service.auth;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the caller's user into @Async tasks, Boot applies it to the application task executor.
+ */
+@Component
+public class UserContextTaskDecorator implements TaskDecorator {
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long userId = UserContextHolder.getCurrentUserId();
+        return () -> UserContextHolder.runWithUserId(userId, runnable);
+    }
+}
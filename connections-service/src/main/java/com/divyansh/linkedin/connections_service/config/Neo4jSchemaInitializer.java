@@ -0,0 +1,38 @@
+package com.divyansh.linkedin.connections_service.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the constraints and indexes the repository queries rely on.
+ * Every statement is idempotent, so this is safe to run on every startup. It runs while the context
+ * is being built, so the unique constraint exists before the web server and listeners start writing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jSchemaInitializer {
+
+    public static final List<String> SCHEMA_STATEMENTS = List.of(
+            "CREATE CONSTRAINT person_user_id_unique IF NOT EXISTS " +
+                    "FOR (p:Person) REQUIRE p.userId IS UNIQUE",
+            "CREATE INDEX person_name IF NOT EXISTS " +
+                    "FOR (p:Person) ON (p.name)"
+    );
+
+    private final Neo4jClient neo4jClient;
+
+    @PostConstruct
+    public void createSchema() {
+        for (String statement : SCHEMA_STATEMENTS) {
+            log.info("Applying Neo4j schema: {}", statement);
+            neo4jClient.query(statement).run();
+        }
+        neo4jClient.query("CALL db.awaitIndexes(300)").run();
+    }
+}
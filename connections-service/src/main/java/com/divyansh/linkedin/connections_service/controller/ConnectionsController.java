@@ -1,8 +1,11 @@
 package com.divyansh.linkedin.connections_service.controller;
 
+import com.divyansh.linkedin.connections_service.dto.ConnectionPathDTO;
+import com.divyansh.linkedin.connections_service.dto.ConnectionRequestResultDTO;
 import com.divyansh.linkedin.connections_service.entity.Person;
 import com.divyansh.linkedin.connections_service.event.AcceptConnectionRequestEvent;
 import com.divyansh.linkedin.connections_service.event.SendConnectionRequestEvent;
+import com.divyansh.linkedin.connections_service.service.ConnectionPathService;
 import com.divyansh.linkedin.connections_service.service.ConnectionsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +20,7 @@ import java.util.List;
 public class ConnectionsController {
 
     private final ConnectionsService connectionsService;
+    private final ConnectionPathService connectionPathService;
 
 
     @GetMapping("/first-degree")
@@ -39,4 +43,25 @@ public class ConnectionsController {
     public ResponseEntity<Boolean> rejectConnectionRequest(@PathVariable Long userId){
         return ResponseEntity.ok(connectionsService.rejectConnectionRequest(userId));
     }
+
+    @PostMapping("/request/bulk")
+    public ResponseEntity<List<ConnectionRequestResultDTO>> sendConnectionRequests(@RequestBody List<Long> userIds){
+        return ResponseEntity.ok(connectionsService.sendConnectionRequests(userIds));
+    }
+
+    @PostMapping("/accept/bulk")
+    public ResponseEntity<List<ConnectionRequestResultDTO>> acceptConnectionRequests(@RequestBody List<Long> userIds){
+        return ResponseEntity.ok(connectionsService.acceptConnectionRequests(userIds));
+    }
+
+    @PostMapping("/reject/bulk")
+    public ResponseEntity<List<ConnectionRequestResultDTO>> rejectConnectionRequests(@RequestBody List<Long> userIds){
+        return ResponseEntity.ok(connectionsService.rejectConnectionRequests(userIds));
+    }
+
+    @GetMapping("/path/{userId}")
+    public ResponseEntity<ConnectionPathDTO> getConnectionPath(@PathVariable Long userId,
+                                                               @RequestParam(required = false) Integer maxDepth){
+        return ResponseEntity.ok(connectionPathService.getConnectionPath(userId, maxDepth));
+    }
 }
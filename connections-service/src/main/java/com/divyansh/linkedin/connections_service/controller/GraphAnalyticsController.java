@@ -0,0 +1,43 @@
+package com.divyansh.linkedin.connections_service.controller;
+
+import com.divyansh.linkedin.connections_service.auth.UserContextHolder;
+import com.divyansh.linkedin.connections_service.dto.DegreeStatsDTO;
+import com.divyansh.linkedin.connections_service.dto.RecommendationDTO;
+import com.divyansh.linkedin.connections_service.snapshot.GraphSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class GraphAnalyticsController {
+
+    private final GraphSnapshotService graphSnapshotService;
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<RecommendationDTO>> getRecommendations(@RequestParam(defaultValue = "20") int limit){
+        return ResponseEntity.ok(graphSnapshotService.recommendations(UserContextHolder.getCurrentUserId(), limit));
+    }
+
+    @GetMapping("/mutual/{userId}")
+    public ResponseEntity<Integer> getMutualConnectionCount(@PathVariable Long userId){
+        return ResponseEntity.ok(graphSnapshotService.mutualConnectionCount(UserContextHolder.getCurrentUserId(), userId));
+    }
+
+    @GetMapping("/degree/{userId}")
+    public ResponseEntity<Integer> getDegree(@PathVariable Long userId){
+        return ResponseEntity.ok(graphSnapshotService.degree(userId));
+    }
+
+    @GetMapping("/degree-stats")
+    public ResponseEntity<DegreeStatsDTO> getDegreeStats(){
+        return ResponseEntity.ok(graphSnapshotService.degreeStats());
+    }
+}
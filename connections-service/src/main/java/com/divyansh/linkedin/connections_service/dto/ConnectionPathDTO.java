@@ -0,0 +1,28 @@
+package com.divyansh.linkedin.connections_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ConnectionPathDTO {
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        BUDGET_EXHAUSTED,
+        TIMED_OUT
+    }
+
+    private Status status;
+
+    // user ids from the viewer to the target, empty unless status is FOUND
+    private List<Long> path;
+
+    // every path shorter than or equal to this many hops has been ruled out
+    private int searchedDepth;
+
+    private int expandedNodes;
+}
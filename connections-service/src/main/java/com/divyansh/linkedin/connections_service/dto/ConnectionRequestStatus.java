@@ -0,0 +1,12 @@
+package com.divyansh.linkedin.connections_service.dto;
+
+public enum ConnectionRequestStatus {
+    SENT,
+    ACCEPTED,
+    REJECTED,
+    ALREADY_REQUESTED,
+    ALREADY_CONNECTED,
+    NO_REQUEST,
+    USER_NOT_FOUND,
+    SAME_USER
+}
@@ -0,0 +1,18 @@
+package com.divyansh.linkedin.connections_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DegreeStatsDTO {
+    private long snapshotVersion;
+    private long snapshotCreatedAt;
+    private long users;
+    private long connections;
+    private double averageDegree;
+    private long maxDegree;
+    private long p50Degree;
+    private long p90Degree;
+    private long p99Degree;
+}
@@ -0,0 +1,13 @@
+package com.divyansh.linkedin.connections_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDTO {
+    private long userId;
+    private long mutualConnections;
+}
@@ -3,9 +3,15 @@ package com.divyansh.linkedin.connections_service.event;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 @Builder
 public class SendConnectionRequestEvent {
+    // lets consumers drop redeliveries of the same event
+    @Builder.Default
+    private String eventId = UUID.randomUUID().toString();
+
     private Long senderId;
     private Long receiverId;
 }
@@ -0,0 +1,40 @@
+package com.divyansh.linkedin.connections_service.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Import mode, e.g. {@code --connections.import.enabled=true --connections.import.edges=/data/edges.csv}.
+ */
+@Component
+@ConditionalOnProperty(name = "connections.import.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GraphImportRunner implements ApplicationRunner {
+
+    private final GraphImporter graphImporter;
+
+    @Value("${connections.import.persons:}")
+    private String personsFile;
+
+    @Value("${connections.import.edges:}")
+    private String edgesFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!personsFile.isBlank()) {
+            graphImporter.importPersons(Path.of(personsFile));
+        }
+        if (!edgesFile.isBlank()) {
+            graphImporter.importEdges(Path.of(edgesFile));
+        }
+        log.info("Graph import finished");
+    }
+}
@@ -0,0 +1,268 @@
+package com.divyansh.linkedin.connections_service.importer;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams Person nodes and CONNECTED_TO edges from CSV or NDJSON files into Neo4j.
+ * Input is read line by line and written in parallel UNWIND batches. Edges are externally
+ * sorted by source first, so concurrent batches mostly lock disjoint nodes, and every
+ * committed batch advances a checkpoint that lets an interrupted import resume.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GraphImporter {
+
+    private static final String PERSONS_CYPHER = "UNWIND $rows AS row " +
+            "MERGE (p:Person {userId: row.userId}) " +
+            "SET p.name = row.name";
+
+    private static final String EDGES_CYPHER = "UNWIND $rows AS row " +
+            "MERGE (p1:Person {userId: row[0]}) " +
+            "MERGE (p2:Person {userId: row[1]}) " +
+            "MERGE (p1) -[:CONNECTED_TO]- (p2)";
+
+    private final Driver driver;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Value("${connections.import.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${connections.import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${connections.import.sort-run-size:2000000}")
+    private int sortRunSize;
+
+    @Value("${connections.import.checkpoint-file:graph-import.checkpoint}")
+    private Path checkpointFile;
+
+    @Value("${connections.import.temp-dir:${java.io.tmpdir}}")
+    private Path tempDir;
+
+    public void importPersons(Path input) throws IOException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(checkpointFile, "persons", input);
+        long skip = checkpoint.committedRows();
+        log.info("Importing persons from {}, skipping {} committed rows", input, skip);
+
+        boolean ndjson = isNdjson(input);
+        long row = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BatchWriter writer = new BatchWriter("persons", PERSONS_CYPHER, checkpoint)) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (first && !ndjson && isHeader(line)) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                if (++row <= skip) continue;
+
+                if (writer.size() >= batchSize) writer.flush();
+                writer.add(parsePerson(line, ndjson), row);
+            }
+        }
+    }
+
+    public void importEdges(Path input) throws IOException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(checkpointFile, "edges", input);
+        long skip = checkpoint.committedRows();
+        log.info("Importing connections from {}, skipping {} committed rows", input, skip);
+
+        boolean ndjson = isNdjson(input);
+        long[] edge = new long[2];
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(tempDir, sortRunSize)) {
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                boolean first = true;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    if (first && !ndjson && isHeader(line)) {
+                        first = false;
+                        continue;
+                    }
+                    first = false;
+                    parseEdge(line, ndjson, edge);
+                    sorter.add(edge[0], edge[1]);
+                }
+            }
+
+            long row = 0;
+            long lastSource = 0;
+            long lastTarget = 0;
+            try (ExternalEdgeSorter.EdgeCursor cursor = sorter.sorted();
+                 BatchWriter writer = new BatchWriter("edges", EDGES_CYPHER, checkpoint)) {
+                while (cursor.next()) {
+                    long source = cursor.source();
+                    long target = cursor.target();
+                    boolean duplicate = row > 0 && source == lastSource && target == lastTarget;
+                    // only cut batches between sources, unless one source alone outgrows two batches
+                    boolean sourceChanged = row == 0 || source != lastSource;
+                    lastSource = source;
+                    lastTarget = target;
+                    if (++row <= skip || duplicate || source == target) continue;
+
+                    if (writer.size() >= batchSize && (sourceChanged || writer.size() >= 2 * batchSize)) {
+                        writer.flush();
+                    }
+                    writer.add(List.of(source, target), row);
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> parsePerson(String line, boolean ndjson) {
+        Map<String, Object> person = new HashMap<>();
+        if (ndjson) {
+            JsonNode node = jsonMapper.readTree(line);
+            person.put("userId", node.get("userId").asLong());
+            person.put("name", node.hasNonNull("name") ? node.get("name").asString() : null);
+            return person;
+        }
+        int comma = line.indexOf(',');
+        person.put("userId", Long.parseLong((comma < 0 ? line : line.substring(0, comma)).trim()));
+        person.put("name", comma < 0 ? null : unquote(line.substring(comma + 1).trim()));
+        return person;
+    }
+
+    private void parseEdge(String line, boolean ndjson, long[] edge) {
+        if (ndjson) {
+            JsonNode node = jsonMapper.readTree(line);
+            edge[0] = node.get("sourceUserId").asLong();
+            edge[1] = node.get("targetUserId").asLong();
+            return;
+        }
+        int comma = line.indexOf(',');
+        edge[0] = Long.parseLong(line.substring(0, comma).trim());
+        edge[1] = Long.parseLong(line.substring(comma + 1).trim());
+    }
+
+    private static boolean isNdjson(Path input) {
+        String name = input.getFileName().toString().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    private static boolean isHeader(String line) {
+        char first = line.trim().charAt(0);
+        return first != '-' && !Character.isDigit(first);
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\"\"", "\"");
+        }
+        return value;
+    }
+
+    /**
+     * Collects rows into batches and commits them on a bounded worker pool, reporting throughput as it goes.
+     */
+    private class BatchWriter implements AutoCloseable {
+
+        private final String phase;
+        private final String cypher;
+        private final ImportCheckpoint checkpoint;
+        private final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        private final Semaphore inFlight = new Semaphore(parallelism * 2);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final AtomicLong writtenRows = new AtomicLong();
+        private final long startedAt = System.nanoTime();
+        private long lastReportAt = startedAt;
+
+        private List<Object> rows = new ArrayList<>();
+        private long lastRow;
+        private long nextBatch;
+
+        BatchWriter(String phase, String cypher, ImportCheckpoint checkpoint) {
+            this.phase = phase;
+            this.cypher = cypher;
+            this.checkpoint = checkpoint;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void add(Object row, long rowNumber) {
+            rows.add(row);
+            lastRow = rowNumber;
+        }
+
+        void flush() {
+            if (rows.isEmpty()) return;
+            if (failure.get() != null) throw failure.get();
+
+            List<Object> batch = rows;
+            long batchNumber = nextBatch++;
+            long endRow = lastRow;
+            rows = new ArrayList<>(batchSize);
+
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try (Session session = driver.session()) {
+                    session.executeWrite(tx -> tx.run(cypher, Map.of("rows", batch)).consume());
+                    checkpoint.batchFinished(batchNumber, endRow);
+                    report(writtenRows.addAndGet(batch.size()), false);
+                } catch (RuntimeException e) {
+                    log.error("Failed to import {} batch {} ending at row {}", phase, batchNumber, endRow, e);
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (failure.get() == null) flush();
+            } finally {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure.get() != null) {
+                throw new RuntimeException("Graph import of " + phase + " failed, resume from checkpoint " + checkpointFile, failure.get());
+            }
+            report(writtenRows.get(), true);
+        }
+
+        private synchronized void report(long written, boolean done) {
+            long now = System.nanoTime();
+            if (!done && now - lastReportAt < TimeUnit.SECONDS.toNanos(5)) return;
+            lastReportAt = now;
+            double seconds = Math.max(1e-9, (now - startedAt) / 1e9);
+            log.info("{} {}: {} rows written in {}s ({} rows/s)", done ? "Finished importing" : "Importing",
+                    phase, written, Math.round(seconds), Math.round(written / seconds));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.divyansh.linkedin.connections_service.importer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Tracks how many rows of an import phase are durably committed, so a restarted import can skip them.
+ * Batches finish out of order on the worker pool; only the contiguous prefix of finished batches counts.
+ */
+@Slf4j
+class ImportCheckpoint {
+
+    private final Path file;
+    private final String phase;
+    private final String fingerprint;
+    private final Properties properties = new Properties();
+    private final TreeMap<Long, Long> finishedBatches = new TreeMap<>();
+
+    private long nextBatch;
+    private long committedRows;
+
+    ImportCheckpoint(Path file, String phase, Path input) throws IOException {
+        this.file = file;
+        this.phase = phase;
+        this.fingerprint = input.toAbsolutePath() + ":" + Files.size(input) + ":" + Files.getLastModifiedTime(input).toMillis();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        if (fingerprint.equals(properties.getProperty(phase + ".input"))) {
+            committedRows = Long.parseLong(properties.getProperty(phase + ".rows", "0"));
+        } else if (properties.containsKey(phase + ".input")) {
+            log.warn("Ignoring {} checkpoint, it was written for a different input: {}", phase, properties.getProperty(phase + ".input"));
+        }
+    }
+
+    long committedRows() {
+        return committedRows;
+    }
+
+    synchronized void batchFinished(long batch, long endRow) {
+        finishedBatches.put(batch, endRow);
+        Long end = finishedBatches.remove(nextBatch);
+        if (end == null) return;
+        while (end != null) {
+            committedRows = end;
+            end = finishedBatches.remove(++nextBatch);
+        }
+        save();
+    }
+
+    private void save() {
+        properties.setProperty(phase + ".input", fingerprint);
+        properties.setProperty(phase + ".rows", Long.toString(committedRows));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "connections-service graph import checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.divyansh.linkedin.connections_service.repository;
+
+import com.divyansh.linkedin.connections_service.dto.ConnectionRequestStatus;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ConnectionGraphRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Fetches the adjacency lists of a batch of users in a single round trip.
+     * Users without any connection are absent from the returned map.
+     */
+    public Map<Long, long[]> getConnectionIds(Collection<Long> userIds) {
+        Map<Long, long[]> adjacency = new HashMap<>();
+        neo4jClient.query("UNWIND $userIds AS id " +
+                        "MATCH (p:Person {userId: id}) -[:CONNECTED_TO]- (q:Person) " +
+                        "RETURN p.userId AS userId, collect(q.userId) AS connectionIds")
+                .bind(userIds).to("userIds")
+                .fetchAs(UserConnections.class)
+                .mappedBy((typeSystem, record) -> new UserConnections(
+                        record.get("userId").asLong(),
+                        record.get("connectionIds").asList(Value::asLong).stream().mapToLong(Long::longValue).toArray()))
+                .all()
+                .forEach(row -> adjacency.put(row.userId(), row.connectionIds()));
+        return adjacency;
+    }
+
+    /**
+     * Sends a connection request from the sender to every receiver in one statement.
+     * Receivers that don't exist are absent from the returned map.
+     */
+    public Map<Long, ConnectionRequestStatus> sendConnectionRequests(Long senderId, Collection<Long> receiverIds) {
+        return runBulk("UNWIND $receiverIds AS receiverId " +
+                "MATCH (p1:Person {userId: $senderId}), (p2:Person {userId: receiverId}) " +
+                "OPTIONAL MATCH (p1) -[r:REQUESTED_TO]-> (p2) " +
+                "OPTIONAL MATCH (p1) -[c:CONNECTED_TO]- (p2) " +
+                "WITH receiverId, p1, p2, count(r) > 0 AS requested, count(c) > 0 AS connected " +
+                "WITH receiverId, p1, p2, CASE WHEN requested THEN 'ALREADY_REQUESTED' " +
+                "WHEN connected THEN 'ALREADY_CONNECTED' ELSE 'SENT' END AS status " +
+                "FOREACH (ignored IN CASE WHEN status = 'SENT' THEN [1] ELSE [] END | " +
+                "MERGE (p1) -[:REQUESTED_TO]-> (p2)) " +
+                "RETURN receiverId, status", senderId, receiverIds);
+    }
+
+    public Map<Long, ConnectionRequestStatus> acceptConnectionRequests(Long senderId, Collection<Long> receiverIds) {
+        return runBulk("UNWIND $receiverIds AS receiverId " +
+                "OPTIONAL MATCH (p1:Person {userId: $senderId}) -[r:REQUESTED_TO]-> (p2:Person {userId: receiverId}) " +
+                "WITH receiverId, p1, p2, r, r IS NOT NULL AS requested " +
+                "FOREACH (ignored IN CASE WHEN requested THEN [1] ELSE [] END | " +
+                "DELETE r MERGE (p1) -[:CONNECTED_TO]-> (p2)) " +
+                "RETURN receiverId, CASE WHEN requested THEN 'ACCEPTED' ELSE 'NO_REQUEST' END AS status",
+                senderId, receiverIds);
+    }
+
+    public Map<Long, ConnectionRequestStatus> rejectConnectionRequests(Long senderId, Collection<Long> receiverIds) {
+        return runBulk("UNWIND $receiverIds AS receiverId " +
+                "OPTIONAL MATCH (:Person {userId: $senderId}) -[r:REQUESTED_TO]-> (:Person {userId: receiverId}) " +
+                "WITH receiverId, r, r IS NOT NULL AS requested " +
+                "FOREACH (ignored IN CASE WHEN requested THEN [1] ELSE [] END | DELETE r) " +
+                "RETURN receiverId, CASE WHEN requested THEN 'REJECTED' ELSE 'NO_REQUEST' END AS status",
+                senderId, receiverIds);
+    }
+
+    private Map<Long, ConnectionRequestStatus> runBulk(String cypher, Long senderId, Collection<Long> receiverIds) {
+        Map<Long, ConnectionRequestStatus> statuses = new LinkedHashMap<>();
+        neo4jClient.query(cypher)
+                .bind(senderId).to("senderId")
+                .bind(receiverIds).to("receiverIds")
+                .fetch()
+                .all()
+                .forEach(row -> statuses.put((Long) row.get("receiverId"),
+                        ConnectionRequestStatus.valueOf((String) row.get("status"))));
+        return statuses;
+    }
+
+    private record UserConnections(long userId, long[] connectionIds) {
+    }
+}
@@ -18,37 +18,29 @@ public interface PersonRepository extends Neo4jRepository<Person,Long> {
     List<Person> getFirstDegreeConnections(@Param("userId") Long userId);
 
 
-    @Query("MATCH (p1:Person) -[r:REQUESTED_TO]-> (p2:Person) " +
-            "WHERE p1.userId = $senderId AND p2.userId = $receiverId " +
-            "RETURN count(r) > 0")
-    boolean connectionRequestExists(@Param("senderId") Long senderId,
+    @Query("MATCH (p1:Person {userId: $senderId}), (p2:Person {userId: $receiverId}) " +
+            "OPTIONAL MATCH (p1) -[r:REQUESTED_TO]-> (p2) " +
+            "OPTIONAL MATCH (p1) -[c:CONNECTED_TO]- (p2) " +
+            "WITH p1, p2, count(r) > 0 AS requested, count(c) > 0 AS connected " +
+            "FOREACH (ignored IN CASE WHEN requested OR connected THEN [] ELSE [1] END | " +
+            "MERGE (p1) -[:REQUESTED_TO]-> (p2)) " +
+            "RETURN CASE WHEN requested THEN 'ALREADY_REQUESTED' " +
+            "WHEN connected THEN 'ALREADY_CONNECTED' ELSE 'SENT' END")
+    String sendConnectionRequest(@Param("senderId") Long senderId,
+                                 @Param("receiverId") Long receiverId);
+
+
+    @Query("MATCH (p1:Person {userId: $senderId}) -[r:REQUESTED_TO]-> (p2:Person {userId: $receiverId}) " +
+            "DELETE r " +
+            "MERGE (p1) -[:CONNECTED_TO]-> (p2) " +
+            "RETURN count(*) > 0")
+    boolean acceptConnectionRequest(@Param("senderId") Long senderId,
                                     @Param("receiverId") Long receiverId);
 
-    @Query("MATCH (p1:Person) -[r:CONNECTED_TO]-(p2:Person) " +
-            "WHERE p1.userId = $senderId AND p2.userId = $receiverId " +
-            "RETURN count(r) > 0")
-    boolean alreadyConnected(@Param("senderId") Long senderId,
-                             @Param("receiverId") Long receiverId);
-
-
-    @Query("MATCH (p1:Person), (p2:Person) " +
-            "WHERE p1.userId = $senderId AND p2.userId = $receiverId " +
-            "CREATE (p1)-[:REQUESTED_TO]->(p2)")
-    void addConnectionRequest(@Param("senderId") Long senderId,
-                              @Param("receiverId") Long receiverId);
-
 
-    @Query("MATCH (p1:Person) -[r:REQUESTED_TO]-> (p2:Person) " +
-            "WHERE p1.userId = $senderId AND p2.userId = $receiverId " +
+    @Query("MATCH (p1:Person {userId: $senderId}) -[r:REQUESTED_TO]-> (p2:Person {userId: $receiverId}) " +
             "DELETE r " +
-            "CREATE (p1) -[:CONNECTED_TO]->(p2)")
-    void addConnection(@Param("senderId") Long senderId,
-                       @Param("receiverId") Long receiverId);
-
-
-    @Query("MATCH (p1:Person) -[r:REQUESTED_TO]-> (p2:Person) " +
-            "WHERE p1.userId = $senderId AND p2.userId = $receiverId " +
-            "DELETE r")
-    void rejectConnection(@Param("senderId") Long senderId,
-                          @Param("receiverId") Long receiverId);
+            "RETURN count(*) > 0")
+    boolean rejectConnectionRequest(@Param("senderId") Long senderId,
+                                    @Param("receiverId") Long receiverId);
 }
@@ -0,0 +1,175 @@
+package com.divyansh.linkedin.connections_service.service;
+
+import com.divyansh.linkedin.connections_service.auth.UserContextHolder;
+import com.divyansh.linkedin.connections_service.dto.ConnectionPathDTO;
+import com.divyansh.linkedin.connections_service.dto.ConnectionPathDTO.Status;
+import com.divyansh.linkedin.connections_service.repository.ConnectionGraphRepository;
+import com.divyansh.linkedin.connections_service.utils.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers "how you're connected" with a bidirectional breadth first search run in process.
+ * Each BFS level is fetched from Neo4j in batches of adjacency lists, and the search is bounded
+ * by a depth, a node expansion budget and a deadline so latency stays predictable on dense graphs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionPathService {
+
+    private final ConnectionGraphRepository connectionGraphRepository;
+
+    @Value("${connections.path.max-depth:6}")
+    private int maxDepthLimit;
+
+    @Value("${connections.path.max-expansions:20000}")
+    private int maxExpansions;
+
+    @Value("${connections.path.timeout-ms:500}")
+    private long timeoutMs;
+
+    @Value("${connections.path.batch-size:500}")
+    private int batchSize;
+
+    public ConnectionPathDTO getConnectionPath(Long targetId, Integer maxDepth) {
+        Long viewerId = UserContextHolder.getCurrentUserId();
+        int depthLimit = maxDepth == null ? maxDepthLimit : Math.min(maxDepth, maxDepthLimit);
+        log.info("Searching connection path from {} to {} up to depth {}", viewerId, targetId, depthLimit);
+
+        if (depthLimit < 1) {
+            throw new RuntimeException("Max depth must be at least 1");
+        }
+        if (viewerId.equals(targetId)) {
+            return ConnectionPathDTO.builder()
+                    .status(Status.FOUND)
+                    .path(List.of(viewerId))
+                    .build();
+        }
+        return new Search(viewerId, targetId, depthLimit).run();
+    }
+
+    private class Search {
+
+        private final long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        private final int depthLimit;
+
+        // node -> parent, roots point at themselves
+        private final LongLongHashMap forwardParents = new LongLongHashMap(1024);
+        private final LongLongHashMap backwardParents = new LongLongHashMap(1024);
+        private long[] forwardFrontier;
+        private long[] backwardFrontier;
+        private int forwardDepth;
+        private int backwardDepth;
+
+        private int expanded;
+        private boolean found;
+        private long meetingNode;
+
+        Search(long source, long target, int depthLimit) {
+            this.depthLimit = depthLimit;
+            forwardParents.putIfAbsent(source, source);
+            backwardParents.putIfAbsent(target, target);
+            forwardFrontier = new long[]{source};
+            backwardFrontier = new long[]{target};
+        }
+
+        ConnectionPathDTO run() {
+            while (forwardDepth + backwardDepth < depthLimit) {
+                boolean forward = forwardFrontier.length <= backwardFrontier.length;
+                long[] frontier = forward ? forwardFrontier : backwardFrontier;
+                LongLongHashMap parents = forward ? forwardParents : backwardParents;
+                LongLongHashMap otherParents = forward ? backwardParents : forwardParents;
+
+                long[] next = new long[Math.max(16, frontier.length)];
+                int nextSize = 0;
+
+                int from = 0;
+                while (from < frontier.length) {
+                    if (System.nanoTime() > deadline) return partial(Status.TIMED_OUT);
+                    int remaining = maxExpansions - expanded;
+                    if (remaining <= 0) return partial(Status.BUDGET_EXHAUSTED);
+
+                    int to = Math.min(frontier.length, from + Math.min(batchSize, remaining));
+                    List<Long> batch = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) batch.add(frontier[i]);
+                    expanded += batch.size();
+                    from = to;
+
+                    Map<Long, long[]> adjacency = connectionGraphRepository.getConnectionIds(batch);
+                    for (Map.Entry<Long, long[]> entry : adjacency.entrySet()) {
+                        long node = entry.getKey();
+                        for (long neighbour : entry.getValue()) {
+                            if (!parents.putIfAbsent(neighbour, node)) continue;
+                            if (otherParents.containsKey(neighbour)) {
+                                found = true;
+                                meetingNode = neighbour;
+                                return result();
+                            }
+                            if (nextSize == next.length) next = Arrays.copyOf(next, nextSize << 1);
+                            next[nextSize++] = neighbour;
+                        }
+                    }
+                }
+
+                if (forward) {
+                    forwardFrontier = Arrays.copyOf(next, nextSize);
+                    forwardDepth++;
+                } else {
+                    backwardFrontier = Arrays.copyOf(next, nextSize);
+                    backwardDepth++;
+                }
+                if (nextSize == 0) break;
+            }
+            return result();
+        }
+
+        private ConnectionPathDTO result() {
+            if (!found) {
+                return ConnectionPathDTO.builder()
+                        .status(Status.NOT_FOUND)
+                        .path(List.of())
+                        .searchedDepth(forwardDepth + backwardDepth)
+                        .expandedNodes(expanded)
+                        .build();
+            }
+            List<Long> path = new ArrayList<>();
+            long node = meetingNode;
+            path.add(node);
+            for (long parent; (parent = forwardParents.get(node, node)) != node; node = parent) {
+                path.add(parent);
+            }
+            Collections.reverse(path);
+            node = meetingNode;
+            for (long parent; (parent = backwardParents.get(node, node)) != node; node = parent) {
+                path.add(parent);
+            }
+            log.info("Found connection path of {} hops after expanding {} nodes", path.size() - 1, expanded);
+            return ConnectionPathDTO.builder()
+                    .status(Status.FOUND)
+                    .path(path)
+                    .searchedDepth(path.size() - 1)
+                    .expandedNodes(expanded)
+                    .build();
+        }
+
+        private ConnectionPathDTO partial(Status status) {
+            log.info("Connection path search stopped ({}) at depth {} after expanding {} nodes",
+                    status, forwardDepth + backwardDepth, expanded);
+            return ConnectionPathDTO.builder()
+                    .status(status)
+                    .path(List.of())
+                    .searchedDepth(forwardDepth + backwardDepth)
+                    .expandedNodes(expanded)
+                    .build();
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.divyansh.linkedin.connections_service.service;
 
 import com.divyansh.linkedin.connections_service.auth.UserContextHolder;
+import com.divyansh.linkedin.connections_service.dto.ConnectionRequestResultDTO;
+import com.divyansh.linkedin.connections_service.dto.ConnectionRequestStatus;
 import com.divyansh.linkedin.connections_service.entity.Person;
 import com.divyansh.linkedin.connections_service.event.AcceptConnectionRequestEvent;
 import com.divyansh.linkedin.connections_service.event.SendConnectionRequestEvent;
+import com.divyansh.linkedin.connections_service.repository.ConnectionGraphRepository;
 import com.divyansh.linkedin.connections_service.repository.PersonRepository;
+import com.divyansh.linkedin.connections_service.snapshot.GraphSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.neo4j.repository.support.SimpleNeo4jRepository;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -20,8 +32,16 @@ import java.util.List;
 public class ConnectionsService {
 
     private final PersonRepository personRepository;
+    private final ConnectionGraphRepository connectionGraphRepository;
+    private final GraphSnapshotService graphSnapshotService;
     private final KafkaTemplate<Long, Object> kafkaTemplate;
 
+    @Value("${connections.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+
+    @Value("${connections.bulk.max-size:10000}")
+    private int bulkMaxSize;
+
 
     public List<Person> getFirstDegreeConnections(){
          Long userId = UserContextHolder.getCurrentUserId();
@@ -37,51 +57,131 @@ public class ConnectionsService {
              throw new RuntimeException("Both sender and receiver are the same");
          }
 
-         boolean alreadySentRequest = personRepository.connectionRequestExists(senderId,receiverId);
-         if(alreadySentRequest){
-             throw new RuntimeException("Connection request already exists, cannot send again!");
+         String status = personRepository.sendConnectionRequest(senderId,receiverId);
+         if(status == null){
+             throw new RuntimeException("User not found, cannot send connection request");
+         }
+         switch (ConnectionRequestStatus.valueOf(status)){
+             case ALREADY_REQUESTED -> throw new RuntimeException("Connection request already exists, cannot send again!");
+             case ALREADY_CONNECTED -> throw new RuntimeException("Already Connected users, cannot add connection request");
          }
-
-         boolean alreadyConnected = personRepository.alreadyConnected(senderId,receiverId);
-        if(alreadyConnected){
-            throw new RuntimeException("Already Connected users, cannot add connection request");
-        }
-
-        personRepository.addConnectionRequest(senderId,receiverId);
         log.info("Successfully sent the connection request");
 
-        SendConnectionRequestEvent sendConnectionRequestEvent = SendConnectionRequestEvent.builder()
-                .receiverId(receiverId)
-                .senderId(senderId)
-                .build();
-        kafkaTemplate.send("send-connection-request-topic",senderId,sendConnectionRequestEvent);
+        publishSendConnectionRequest(senderId,receiverId);
         return true;
      }
 
 
     public Boolean acceptConnectionRequest(Long receiverId) {
          Long senderId = UserContextHolder.getCurrentUserId();
-         boolean havingConnectionRequest = personRepository.connectionRequestExists(senderId,receiverId);
-         if (!havingConnectionRequest){
+         boolean accepted = personRepository.acceptConnectionRequest(senderId,receiverId);
+         if (!accepted){
              throw new RuntimeException("You can't accept a connection without the request");
          }
-         personRepository.addConnection(senderId,receiverId);
          log.info("Successfully accepted the connection request, sender: {}, receiver: {}",senderId,receiverId);
-        AcceptConnectionRequestEvent acceptConnectionRequestEvent = AcceptConnectionRequestEvent.builder()
-                .receiverId(receiverId)
-                .senderId(senderId)
-                .build();
-        kafkaTemplate.send("accept-connection-request-topic",senderId,acceptConnectionRequestEvent);
+        graphSnapshotService.recordConnection(senderId,receiverId);
+        publishAcceptConnectionRequest(senderId,receiverId);
          return true;
     }
 
     public Boolean rejectConnectionRequest(Long receiverId) {
         Long senderId = UserContextHolder.getCurrentUserId();
-        boolean havingConnectionRequest = personRepository.connectionRequestExists(senderId,receiverId);
-        if (!havingConnectionRequest){
+        boolean rejected = personRepository.rejectConnectionRequest(senderId,receiverId);
+        if (!rejected){
             throw new RuntimeException("You can't reject a connection without the request");
         }
-        personRepository.rejectConnection(senderId,receiverId);
         return true;
     }
+
+    @Transactional
+    public List<ConnectionRequestResultDTO> sendConnectionRequests(List<Long> receiverIds) {
+        Long senderId = UserContextHolder.getCurrentUserId();
+        log.info("Trying to send {} connection requests, sender: {}",receiverIds.size(),senderId);
+        List<ConnectionRequestResultDTO> results = runBulk(receiverIds, senderId, ConnectionRequestStatus.USER_NOT_FOUND,
+                batch -> connectionGraphRepository.sendConnectionRequests(senderId, batch));
+        List<Long> sentTo = results.stream()
+                .filter(result -> result.getStatus() == ConnectionRequestStatus.SENT)
+                .map(ConnectionRequestResultDTO::getUserId)
+                .toList();
+        afterCommit(() -> sentTo.forEach(receiverId -> publishSendConnectionRequest(senderId, receiverId)));
+        return results;
+    }
+
+    @Transactional
+    public List<ConnectionRequestResultDTO> acceptConnectionRequests(List<Long> receiverIds) {
+        Long senderId = UserContextHolder.getCurrentUserId();
+        log.info("Trying to accept {} connection requests, sender: {}",receiverIds.size(),senderId);
+        List<ConnectionRequestResultDTO> results = runBulk(receiverIds, senderId, ConnectionRequestStatus.NO_REQUEST,
+                batch -> connectionGraphRepository.acceptConnectionRequests(senderId, batch));
+        List<Long> acceptedFrom = results.stream()
+                .filter(result -> result.getStatus() == ConnectionRequestStatus.ACCEPTED)
+                .map(ConnectionRequestResultDTO::getUserId)
+                .toList();
+        afterCommit(() -> acceptedFrom.forEach(receiverId -> {
+            graphSnapshotService.recordConnection(senderId, receiverId);
+            publishAcceptConnectionRequest(senderId, receiverId);
+        }));
+        return results;
+    }
+
+    @Transactional
+    public List<ConnectionRequestResultDTO> rejectConnectionRequests(List<Long> receiverIds) {
+        Long senderId = UserContextHolder.getCurrentUserId();
+        log.info("Trying to reject {} connection requests, sender: {}",receiverIds.size(),senderId);
+        return runBulk(receiverIds, senderId, ConnectionRequestStatus.NO_REQUEST,
+                batch -> connectionGraphRepository.rejectConnectionRequests(senderId, batch));
+    }
+
+    private List<ConnectionRequestResultDTO> runBulk(List<Long> receiverIds, Long senderId,
+                                                     ConnectionRequestStatus missingStatus,
+                                                     Function<List<Long>, Map<Long, ConnectionRequestStatus>> operation) {
+        if(receiverIds.size() > bulkMaxSize){
+            throw new RuntimeException("Cannot process more than "+bulkMaxSize+" connection requests at once");
+        }
+        List<Long> distinctIds = receiverIds.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.equals(senderId))
+                .distinct()
+                .toList();
+
+        Map<Long, ConnectionRequestStatus> statuses = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += bulkBatchSize) {
+            List<Long> batch = distinctIds.subList(from, Math.min(distinctIds.size(), from + bulkBatchSize));
+            statuses.putAll(operation.apply(batch));
+        }
+
+        return receiverIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(id -> new ConnectionRequestResultDTO(id, id.equals(senderId)
+                        ? ConnectionRequestStatus.SAME_USER
+                        : statuses.getOrDefault(id, missingStatus)))
+                .toList();
+    }
+
+    // the bulk transaction may still roll back, so only record and announce what was committed
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publishSendConnectionRequest(Long senderId, Long receiverId) {
+        SendConnectionRequestEvent sendConnectionRequestEvent = SendConnectionRequestEvent.builder()
+                .receiverId(receiverId)
+                .senderId(senderId)
+                .build();
+        kafkaTemplate.send("send-connection-request-topic",senderId,sendConnectionRequestEvent);
+    }
+
+    private void publishAcceptConnectionRequest(Long senderId, Long receiverId) {
+        AcceptConnectionRequestEvent acceptConnectionRequestEvent = AcceptConnectionRequestEvent.builder()
+                .receiverId(receiverId)
+                .senderId(senderId)
+                .build();
+        kafkaTemplate.send("accept-connection-request-topic",senderId,acceptConnectionRequestEvent);
+    }
 }
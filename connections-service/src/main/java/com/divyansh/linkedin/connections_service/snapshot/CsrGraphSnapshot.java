@@ -0,0 +1,174 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a snapshot written by {@link CsrSnapshotWriter}.
+ * Pages are loaded lazily by the OS, so opening a snapshot costs the same regardless of graph size.
+ * A single mapping is limited to 2 GB, so each section is mapped in fixed-size chunks.
+ */
+@Getter
+public class CsrGraphSnapshot {
+
+    static final int DEFAULT_CHUNK_BYTES = 1 << 30;
+
+    private final Path file;
+    private final long version;
+    private final long createdAt;
+    private final int nodeCount;
+    private final long neighbourCount;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final MappedSection nodeIds;
+    @Getter(lombok.AccessLevel.NONE)
+    private final MappedSection offsets;
+    @Getter(lombok.AccessLevel.NONE)
+    private final MappedSection neighbours;
+
+    private CsrGraphSnapshot(Path file, ByteBuffer header, FileChannel channel, int chunkBytes) throws IOException {
+        if (header.getLong() != CsrSnapshotWriter.MAGIC) {
+            throw new IOException("Not a graph snapshot: " + file);
+        }
+        int formatVersion = header.getInt();
+        if (formatVersion != CsrSnapshotWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported graph snapshot format " + formatVersion + ": " + file);
+        }
+        header.getInt();
+        this.file = file;
+        this.version = header.getLong();
+        this.createdAt = header.getLong();
+        this.nodeCount = Math.toIntExact(header.getLong());
+        this.neighbourCount = header.getLong();
+
+        long position = CsrSnapshotWriter.HEADER_BYTES;
+        this.nodeIds = new MappedSection(channel, position, 8L * nodeCount, chunkBytes);
+        position += 8L * nodeCount;
+        this.offsets = new MappedSection(channel, position, 8L * (nodeCount + 1), chunkBytes);
+        position += 8L * (nodeCount + 1);
+        this.neighbours = new MappedSection(channel, position, 4L * neighbourCount, chunkBytes);
+    }
+
+    public static CsrGraphSnapshot open(Path file) throws IOException {
+        return open(file, DEFAULT_CHUNK_BYTES);
+    }
+
+    static CsrGraphSnapshot open(Path file, int chunkBytes) throws IOException {
+        if (Integer.bitCount(chunkBytes) != 1 || chunkBytes < 8) {
+            throw new IllegalArgumentException("Chunk size must be a power of two of at least 8 bytes: " + chunkBytes);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(CsrSnapshotWriter.HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            // mappings stay valid after the channel is closed
+            return new CsrGraphSnapshot(file, header, channel, chunkBytes);
+        }
+    }
+
+    /**
+     * @return the node index of the user, or a negative value if the user is not in the snapshot
+     */
+    public int indexOf(long userId) {
+        int low = 0;
+        int high = nodeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = nodeIds.getLong(mid);
+            if (midId < userId) low = mid + 1;
+            else if (midId > userId) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    public long userIdAt(int index) {
+        return nodeIds.getLong(index);
+    }
+
+    public int degree(int index) {
+        return (int) (offsets.getLong(index + 1) - offsets.getLong(index));
+    }
+
+    /**
+     * @return the connected user ids, ascending
+     */
+    public long[] neighbourIds(int index) {
+        long start = offsets.getLong(index);
+        long[] result = new long[degree(index)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = nodeIds.getLong(neighbours.getInt(start + i));
+        }
+        return result;
+    }
+
+    /**
+     * Streams every (user, connection) pair in the same order the writer expects.
+     */
+    public EdgeCursor edges() {
+        return new EdgeCursor() {
+            private int node;
+            private long position = -1;
+
+            @Override
+            public boolean next() {
+                position++;
+                while (node < nodeCount && position >= offsets.getLong(node + 1)) node++;
+                return node < nodeCount;
+            }
+
+            @Override
+            public long source() {
+                return nodeIds.getLong(node);
+            }
+
+            @Override
+            public long target() {
+                return nodeIds.getLong(neighbours.getInt(position));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * A section of the file mapped as consecutive chunks. Chunks are a multiple of the element
+     * size, so no element straddles two of them.
+     */
+    private static final class MappedSection {
+
+        private final ByteBuffer[] chunks;
+        private final int chunkShift;
+        private final long chunkMask;
+
+        MappedSection(FileChannel channel, long position, long size, int chunkBytes) throws IOException {
+            this.chunkShift = Integer.numberOfTrailingZeros(chunkBytes);
+            this.chunkMask = chunkBytes - 1;
+            this.chunks = new ByteBuffer[Math.toIntExact((size + chunkBytes - 1) >>> chunkShift)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << chunkShift;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, Math.min(chunkBytes, size - start));
+            }
+        }
+
+        long getLong(long index) {
+            long offset = index << 3;
+            return chunks[(int) (offset >>> chunkShift)].getLong((int) (offset & chunkMask));
+        }
+
+        int getInt(long index) {
+            long offset = index << 2;
+            return chunks[(int) (offset >>> chunkShift)].getInt((int) (offset & chunkMask));
+        }
+    }
+}
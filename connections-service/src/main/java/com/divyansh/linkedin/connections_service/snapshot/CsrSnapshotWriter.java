@@ -0,0 +1,96 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a CSR snapshot file:
+ * <pre>
+ * header     magic, format version, snapshot version, created at, node count, neighbour count
+ * nodeIds    long[nodeCount], sorted user ids
+ * offsets    long[nodeCount + 1], start of each node's slice in neighbours
+ * neighbours int[neighbourCount], indices into nodeIds, ascending within each slice
+ * </pre>
+ * Edges must arrive sorted by (source, target); duplicates, self loops and unknown users are dropped.
+ */
+class CsrSnapshotWriter {
+
+    static final long MAGIC = 0x4C4E4B4353523031L; // "LNKCSR01"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 48;
+
+    private CsrSnapshotWriter() {
+    }
+
+    static void write(Path file, long version, long[] nodeIds, int nodeCount, EdgeCursor edges) throws IOException {
+        long[] offsets = new long[nodeCount + 1];
+        Path neighboursFile = Files.createTempFile(file.getParent(), "neighbours-", ".tmp");
+        Path snapshotFile = Files.createTempFile(file.getParent(), "snapshot-", ".tmp");
+        try {
+            long neighbourCount = 0;
+            try (DataOutputStream out = stream(neighboursFile)) {
+                long lastSource = 0;
+                long lastTarget = 0;
+                boolean first = true;
+                int sourceIndex = -1;
+                while (edges.next()) {
+                    long source = edges.source();
+                    long target = edges.target();
+                    if (!first && source == lastSource && target == lastTarget) continue;
+                    if (first || source != lastSource) {
+                        sourceIndex = Arrays.binarySearch(nodeIds, 0, nodeCount, source);
+                    }
+                    first = false;
+                    lastSource = source;
+                    lastTarget = target;
+
+                    int targetIndex = Arrays.binarySearch(nodeIds, 0, nodeCount, target);
+                    if (source == target || sourceIndex < 0 || targetIndex < 0) continue;
+                    out.writeInt(targetIndex);
+                    offsets[sourceIndex + 1]++;
+                    neighbourCount++;
+                }
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            try (DataOutputStream out = stream(snapshotFile)) {
+                out.writeLong(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(0);
+                out.writeLong(version);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(nodeCount);
+                out.writeLong(neighbourCount);
+                for (int i = 0; i < nodeCount; i++) out.writeLong(nodeIds[i]);
+                for (long offset : offsets) out.writeLong(offset);
+            }
+            try (FileChannel from = FileChannel.open(neighboursFile, StandardOpenOption.READ);
+                 FileChannel to = FileChannel.open(snapshotFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long position = 0;
+                while (position < from.size()) {
+                    position += from.transferTo(position, from.size() - position, to);
+                }
+                to.force(true);
+            }
+            Files.move(snapshotFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(neighboursFile);
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    private static DataOutputStream stream(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+}
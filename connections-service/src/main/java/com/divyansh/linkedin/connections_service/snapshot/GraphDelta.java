@@ -0,0 +1,151 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter;
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connections added since the base snapshot, kept in memory for reads and
+ * appended to a log file so they survive a restart until the next rebuild.
+ */
+class GraphDelta {
+
+    private final Map<Long, Set<Long>> connections = new ConcurrentHashMap<>();
+    private final FileChannel log;
+    private long edgeCount;
+
+    private GraphDelta(FileChannel log) {
+        this.log = log;
+    }
+
+    static GraphDelta empty() {
+        return new GraphDelta(null);
+    }
+
+    /**
+     * Reloads the connections recorded in the given logs, compacts them into {@code logFile}
+     * and returns a delta that keeps appending to it.
+     */
+    static GraphDelta recover(Path logFile, Path... previousLogs) throws IOException {
+        GraphDelta recovered = empty();
+        for (Path previousLog : previousLogs) {
+            recovered.replay(previousLog);
+        }
+        recovered.replay(logFile);
+
+        Path compacted = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<Long, Set<Long>> entry : recovered.connections.entrySet()) {
+                for (long target : entry.getValue()) {
+                    if (entry.getKey() < target) append(channel, entry.getKey(), target);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(compacted, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path previousLog : previousLogs) {
+            Files.deleteIfExists(previousLog);
+        }
+
+        GraphDelta delta = new GraphDelta(openLog(logFile));
+        delta.connections.putAll(recovered.connections);
+        delta.edgeCount = recovered.edgeCount;
+        return delta;
+    }
+
+    static GraphDelta open(Path logFile) throws IOException {
+        return new GraphDelta(openLog(logFile));
+    }
+
+    synchronized void add(long source, long target) {
+        if (!addInMemory(source, target) || log == null) return;
+        try {
+            append(log, source, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        if (!Files.exists(file)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                long source;
+                long target;
+                try {
+                    source = in.readLong();
+                    target = in.readLong();
+                } catch (EOFException e) {
+                    // a torn last record from a crash is dropped
+                    return;
+                }
+                addInMemory(source, target);
+            }
+        }
+    }
+
+    private synchronized boolean addInMemory(long source, long target) {
+        if (source == target) return false;
+        if (!connections.computeIfAbsent(source, id -> ConcurrentHashMap.newKeySet()).add(target)) return false;
+        connections.computeIfAbsent(target, id -> ConcurrentHashMap.newKeySet()).add(source);
+        edgeCount++;
+        return true;
+    }
+
+    private static FileChannel openLog(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void append(FileChannel channel, long source, long target) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(16).putLong(source).putLong(target).flip();
+        while (record.hasRemaining()) channel.write(record);
+    }
+
+    Set<Long> connectionsOf(long userId) {
+        return connections.getOrDefault(userId, Set.of());
+    }
+
+    synchronized long edgeCount() {
+        return edgeCount;
+    }
+
+    boolean isEmpty() {
+        return connections.isEmpty();
+    }
+
+    long[] userIds() {
+        return connections.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Both directions of every delta connection, sorted by (source, target).
+     */
+    EdgeCursor sortedEdges(Path tempDir) throws IOException {
+        ExternalEdgeSorter sorter = new ExternalEdgeSorter(tempDir, (int) Math.max(1, 2 * edgeCount()));
+        for (Map.Entry<Long, Set<Long>> entry : connections.entrySet()) {
+            for (long target : entry.getValue()) {
+                sorter.add(entry.getKey(), target);
+            }
+        }
+        return sorter.sorted();
+    }
+
+    void close() throws IOException {
+        if (log != null) log.close();
+    }
+}
@@ -0,0 +1,385 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.dto.DegreeStatsDTO;
+import com.divyansh.linkedin.connections_service.dto.RecommendationDTO;
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter;
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+import com.divyansh.linkedin.connections_service.utils.LongLongHashMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Serves graph analytics from a memory-mapped CSR snapshot instead of Neo4j.
+ * Snapshots are versioned files; each rebuild either merges the previous snapshot with the
+ * connections accepted since (an incremental rebuild) or re-exports the whole graph from Neo4j,
+ * which also corrects anything the delta log missed, e.g. connections accepted on other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GraphSnapshotService {
+
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("graph-(\\d+)\\.csr");
+
+    private final Driver driver;
+
+    @Value("${connections.snapshot.dir:graph-snapshots}")
+    private Path snapshotDir;
+
+    @Value("${connections.snapshot.full-rebuild-every:24}")
+    private int fullRebuildEvery;
+
+    @Value("${connections.snapshot.retained:2}")
+    private int retainedSnapshots;
+
+    @Value("${connections.snapshot.sort-run-size:2000000}")
+    private int sortRunSize;
+
+    @Value("${connections.snapshot.recommendation-scan-limit:1000000}")
+    private int recommendationScanLimit;
+
+    private volatile CsrGraphSnapshot snapshot;
+    private volatile DegreeStatsDTO degreeStats;
+    // connections being merged into the next snapshot, and connections recorded since
+    private volatile GraphDelta merging = GraphDelta.empty();
+    private volatile GraphDelta active;
+    private final Object deltaLock = new Object();
+    private int incrementalBuilds;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(snapshotDir);
+        Path latest = latestSnapshot();
+        if (latest != null) {
+            useSnapshot(CsrGraphSnapshot.open(latest));
+            log.info("Mapped graph snapshot version {} with {} users and {} connections",
+                    snapshot.getVersion(), snapshot.getNodeCount(), snapshot.getNeighbourCount() / 2);
+        } else {
+            log.info("No graph snapshot found in {}, the first rebuild will export it from Neo4j", snapshotDir);
+        }
+        active = GraphDelta.recover(deltaLog(), mergingLog());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        active.close();
+    }
+
+    public void recordConnection(long userId, long connectionId) {
+        synchronized (deltaLock) {
+            active.add(userId, connectionId);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${connections.snapshot.initial-delay-ms:10000}",
+            fixedDelayString = "${connections.snapshot.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() throws IOException {
+        CsrGraphSnapshot base = snapshot;
+        boolean full = base == null || incrementalBuilds >= fullRebuildEvery;
+        if (!full && active.isEmpty()) return;
+
+        GraphDelta frozen;
+        synchronized (deltaLock) {
+            frozen = active;
+            frozen.close();
+            Files.move(deltaLog(), mergingLog(), StandardCopyOption.REPLACE_EXISTING);
+            active = GraphDelta.open(deltaLog());
+            merging = frozen;
+        }
+
+        long version = base == null ? 1 : base.getVersion() + 1;
+        Path file = snapshotDir.resolve("graph-" + version + ".csr");
+        long startedAt = System.currentTimeMillis();
+        try {
+            if (full) {
+                exportFromNeo4j(file, version);
+            } else {
+                mergeDelta(base, frozen, file, version);
+            }
+            useSnapshot(CsrGraphSnapshot.open(file));
+        } catch (IOException | RuntimeException e) {
+            // keep the delta so the next rebuild can retry
+            synchronized (deltaLock) {
+                active.close();
+                active = GraphDelta.recover(deltaLog(), mergingLog());
+                merging = GraphDelta.empty();
+            }
+            throw e;
+        }
+        merging = GraphDelta.empty();
+        Files.deleteIfExists(mergingLog());
+        incrementalBuilds = full ? 0 : incrementalBuilds + 1;
+        pruneSnapshots(version);
+        log.info("Built {} graph snapshot version {} in {} ms", full ? "full" : "incremental",
+                version, System.currentTimeMillis() - startedAt);
+    }
+
+    public int degree(long userId) {
+        return connectionsOf(userId).length;
+    }
+
+    public int mutualConnectionCount(long userId, long otherUserId) {
+        long[] first = connectionsOf(userId);
+        long[] second = connectionsOf(otherUserId);
+        int count = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] < second[j]) i++;
+            else if (first[i] > second[j]) j++;
+            else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Second degree users ranked by the number of mutual connections.
+     */
+    public List<RecommendationDTO> recommendations(long userId, int limit) {
+        if (limit < 1) {
+            throw new RuntimeException("Limit must be at least 1");
+        }
+        long[] direct = connectionsOf(userId);
+        LongLongHashMap mutualCounts = new LongLongHashMap(1024);
+        long scanned = 0;
+        for (long connectionId : direct) {
+            long[] candidates = connectionsOf(connectionId);
+            for (long candidate : candidates) {
+                if (candidate == userId || Arrays.binarySearch(direct, candidate) >= 0) continue;
+                mutualCounts.addTo(candidate, 1);
+            }
+            // bound the work for users whose connections are hubs
+            scanned += candidates.length;
+            if (scanned >= recommendationScanLimit) break;
+        }
+
+        PriorityQueue<RecommendationDTO> top = new PriorityQueue<>(
+                Comparator.comparingLong(RecommendationDTO::getMutualConnections));
+        mutualCounts.forEach((candidate, mutual) -> {
+            if (top.size() < limit) {
+                top.add(new RecommendationDTO(candidate, mutual));
+            } else if (top.peek().getMutualConnections() < mutual) {
+                top.poll();
+                top.add(new RecommendationDTO(candidate, mutual));
+            }
+        });
+        List<RecommendationDTO> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingLong(RecommendationDTO::getMutualConnections).reversed());
+        return result;
+    }
+
+    public DegreeStatsDTO degreeStats() {
+        DegreeStatsDTO stats = degreeStats;
+        if (stats == null) {
+            throw new RuntimeException("Graph snapshot is not available yet");
+        }
+        return stats;
+    }
+
+    /**
+     * Connection ids of the user across the snapshot and both deltas, ascending.
+     */
+    private long[] connectionsOf(long userId) {
+        CsrGraphSnapshot current = snapshot;
+        if (current == null) {
+            throw new RuntimeException("Graph snapshot is not available yet");
+        }
+        int index = current.indexOf(userId);
+        long[] base = index >= 0 ? current.neighbourIds(index) : new long[0];
+        Set<Long> mergingConnections = merging.connectionsOf(userId);
+        Set<Long> activeConnections = active.connectionsOf(userId);
+        if (mergingConnections.isEmpty() && activeConnections.isEmpty()) return base;
+
+        long[] combined = Arrays.copyOf(base, base.length + mergingConnections.size() + activeConnections.size());
+        int size = base.length;
+        for (long id : mergingConnections) combined[size++] = id;
+        for (long id : activeConnections) combined[size++] = id;
+        return Arrays.stream(combined, 0, size).sorted().distinct().toArray();
+    }
+
+    private void exportFromNeo4j(Path file, long version) throws IOException {
+        long[] nodeIds = new long[1024];
+        int nodeCount = 0;
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(snapshotDir, sortRunSize);
+             Session session = driver.session()) {
+            Result persons = session.run("MATCH (p:Person) WHERE p.userId IS NOT NULL " +
+                    "RETURN DISTINCT p.userId AS userId ORDER BY userId");
+            while (persons.hasNext()) {
+                if (nodeCount == nodeIds.length) nodeIds = Arrays.copyOf(nodeIds, nodeCount << 1);
+                nodeIds[nodeCount++] = persons.next().get("userId").asLong();
+            }
+
+            Result connections = session.run("MATCH (p:Person) -[:CONNECTED_TO]- (q:Person) " +
+                    "RETURN p.userId AS userId, q.userId AS connectionId");
+            while (connections.hasNext()) {
+                Record record = connections.next();
+                sorter.add(record.get("userId").asLong(), record.get("connectionId").asLong());
+            }
+
+            try (EdgeCursor edges = sorter.sorted()) {
+                CsrSnapshotWriter.write(file, version, nodeIds, nodeCount, edges);
+            }
+        }
+    }
+
+    private void mergeDelta(CsrGraphSnapshot base, GraphDelta delta, Path file, long version) throws IOException {
+        long[] deltaIds = delta.userIds();
+        long[] nodeIds = new long[base.getNodeCount() + deltaIds.length];
+        int nodeCount = 0;
+        for (int i = 0, j = 0; i < base.getNodeCount() || j < deltaIds.length; ) {
+            long next;
+            if (j == deltaIds.length || (i < base.getNodeCount() && base.userIdAt(i) <= deltaIds[j])) {
+                next = base.userIdAt(i++);
+                if (j < deltaIds.length && deltaIds[j] == next) j++;
+            } else {
+                next = deltaIds[j++];
+            }
+            nodeIds[nodeCount++] = next;
+        }
+
+        try (EdgeCursor edges = new MergedEdgeCursor(base.edges(), delta.sortedEdges(snapshotDir))) {
+            CsrSnapshotWriter.write(file, version, nodeIds, nodeCount, edges);
+        }
+    }
+
+    private void useSnapshot(CsrGraphSnapshot next) {
+        int[] degrees = new int[next.getNodeCount()];
+        long max = 0;
+        for (int i = 0; i < degrees.length; i++) {
+            degrees[i] = next.degree(i);
+            max = Math.max(max, degrees[i]);
+        }
+        Arrays.sort(degrees);
+        DegreeStatsDTO stats = DegreeStatsDTO.builder()
+                .snapshotVersion(next.getVersion())
+                .snapshotCreatedAt(next.getCreatedAt())
+                .users(next.getNodeCount())
+                .connections(next.getNeighbourCount() / 2)
+                .averageDegree(degrees.length == 0 ? 0 : (double) next.getNeighbourCount() / degrees.length)
+                .maxDegree(max)
+                .p50Degree(percentile(degrees, 0.50))
+                .p90Degree(percentile(degrees, 0.90))
+                .p99Degree(percentile(degrees, 0.99))
+                .build();
+        snapshot = next;
+        degreeStats = stats;
+    }
+
+    private static long percentile(int[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private Path latestSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            return files.filter(path -> SNAPSHOT_FILE.matcher(path.getFileName().toString()).matches())
+                    .max(Comparator.comparingLong(GraphSnapshotService::versionOf))
+                    .orElse(null);
+        }
+    }
+
+    private void pruneSnapshots(long currentVersion) throws IOException {
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            for (Path path : files.toList()) {
+                Matcher matcher = SNAPSHOT_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches() && versionOf(path) <= currentVersion - retainedSnapshots) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static long versionOf(Path path) {
+        Matcher matcher = SNAPSHOT_FILE.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private Path deltaLog() {
+        return snapshotDir.resolve("connections.delta");
+    }
+
+    private Path mergingLog() {
+        return snapshotDir.resolve("connections.delta.merging");
+    }
+
+    /**
+     * Merges two cursors that are both sorted by (source, target).
+     */
+    private static class MergedEdgeCursor implements EdgeCursor {
+
+        private final EdgeCursor first;
+        private final EdgeCursor second;
+        private boolean firstHasNext;
+        private boolean secondHasNext;
+        private boolean started;
+        private EdgeCursor current;
+
+        MergedEdgeCursor(EdgeCursor first, EdgeCursor second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (!started) {
+                firstHasNext = first.next();
+                secondHasNext = second.next();
+                started = true;
+            } else if (current == first) {
+                firstHasNext = first.next();
+            } else if (current == second) {
+                secondHasNext = second.next();
+            }
+            if (!firstHasNext && !secondHasNext) return false;
+            if (!secondHasNext) current = first;
+            else if (!firstHasNext) current = second;
+            else {
+                int bySource = Long.compare(first.source(), second.source());
+                int order = bySource != 0 ? bySource : Long.compare(first.target(), second.target());
+                current = order <= 0 ? first : second;
+            }
+            return true;
+        }
+
+        @Override
+        public long source() {
+            return current.source();
+        }
+
+        @Override
+        public long target() {
+            return current.target();
+        }
+
+        @Override
+        public void close() throws IOException {
+            first.close();
+            second.close();
+        }
+    }
+}
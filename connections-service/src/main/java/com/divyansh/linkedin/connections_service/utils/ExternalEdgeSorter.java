@@ -0,0 +1,218 @@
+package com.divyansh.linkedin.connections_service.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts (source, target) edges by source then target without holding the whole input in memory.
+ * Edges are buffered into fixed size runs, each run is sorted and spilled to a temp file, and
+ * the runs are streamed back through a k-way merge.
+ */
+public class ExternalEdgeSorter implements Closeable {
+
+    private final Path tempDir;
+    private final long[] sources;
+    private final long[] targets;
+    private final List<Path> runs = new ArrayList<>();
+    private int buffered;
+
+    public ExternalEdgeSorter(Path tempDir, int runSize) {
+        this.tempDir = tempDir;
+        this.sources = new long[runSize];
+        this.targets = new long[runSize];
+    }
+
+    public void add(long source, long target) throws IOException {
+        if (buffered == sources.length) spill();
+        sources[buffered] = source;
+        targets[buffered] = target;
+        buffered++;
+    }
+
+    public EdgeCursor sorted() throws IOException {
+        if (runs.isEmpty()) {
+            sort(0, buffered - 1);
+            return new MemoryCursor();
+        }
+        if (buffered > 0) spill();
+        return new MergeCursor();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private void spill() throws IOException {
+        sort(0, buffered - 1);
+        Path run = Files.createTempFile(tempDir, "edges-run-", ".bin");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            for (int i = 0; i < buffered; i++) {
+                out.writeLong(sources[i]);
+                out.writeLong(targets[i]);
+            }
+        }
+        buffered = 0;
+    }
+
+    // quicksort over the two parallel arrays, falling back to insertion sort for short ranges
+    private void sort(int low, int high) {
+        while (high - low > 16) {
+            int mid = (low + high) >>> 1;
+            long pivotSource = sources[mid];
+            long pivotTarget = targets[mid];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(i, pivotSource, pivotTarget) < 0) i++;
+                while (compare(j, pivotSource, pivotTarget) > 0) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(j, sources[j - 1], targets[j - 1]) < 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private int compare(int index, long source, long target) {
+        int bySource = Long.compare(sources[index], source);
+        return bySource != 0 ? bySource : Long.compare(targets[index], target);
+    }
+
+    private void swap(int a, int b) {
+        long source = sources[a];
+        long target = targets[a];
+        sources[a] = sources[b];
+        targets[a] = targets[b];
+        sources[b] = source;
+        targets[b] = target;
+    }
+
+    public interface EdgeCursor extends Closeable {
+
+        boolean next() throws IOException;
+
+        long source();
+
+        long target();
+    }
+
+    private class MemoryCursor implements EdgeCursor {
+
+        private int position = -1;
+
+        @Override
+        public boolean next() {
+            return ++position < buffered;
+        }
+
+        @Override
+        public long source() {
+            return sources[position];
+        }
+
+        @Override
+        public long target() {
+            return targets[position];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class MergeCursor implements EdgeCursor {
+
+        private final PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                Comparator.comparingLong(RunReader::source).thenComparingLong(RunReader::target));
+        private final List<RunReader> readers = new ArrayList<>();
+        private RunReader current;
+
+        MergeCursor() throws IOException {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) queue.add(reader);
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (current != null && current.advance()) queue.add(current);
+            current = queue.poll();
+            return current != null;
+        }
+
+        @Override
+        public long source() {
+            return current.source;
+        }
+
+        @Override
+        public long target() {
+            return current.target;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    private static class RunReader {
+
+        private final DataInputStream in;
+        private long source;
+        private long target;
+
+        RunReader(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+        }
+
+        boolean advance() {
+            try {
+                source = in.readLong();
+                target = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long source() {
+            return source;
+        }
+
+        long target() {
+            return target;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.divyansh.linkedin.connections_service.repository;
+
+import com.divyansh.linkedin.connections_service.config.Neo4jSchemaInitializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.neo4j.Neo4jContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every PersonRepository query under PROFILE against a synthetic graph and fails when a
+ * query falls back to a label scan or its db hits grow beyond the recorded baseline.
+ * Run with -Dneo4j.profile.record=true to (re)write the baseline file.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PersonRepositoryQueryPlanTest {
+
+    private static final String BASELINE_RESOURCE = "/neo4j/person-repository-db-hits.properties";
+    private static final Path BASELINE_PATH = Path.of("src/test/resources" + BASELINE_RESOURCE);
+    private static final double TOLERANCE = 0.2;
+    private static final int PERSON_COUNT = 5000;
+    private static final Set<String> SCAN_OPERATORS = Set.of("NodeByLabelScan", "AllNodesScan");
+
+    private static final Map<String, Object> SAMPLE_PARAMETERS = Map.of(
+            "userId", 42L,
+            "senderId", 42L,
+            "receiverId", 43L,
+            "name", "person-42"
+    );
+
+    @Container
+    private static final Neo4jContainer neo4j = new Neo4jContainer("neo4j:5.26").withoutAuthentication();
+
+    private static Driver driver;
+
+    @BeforeAll
+    static void createGraph() {
+        driver = GraphDatabase.driver(neo4j.getBoltUrl(), AuthTokens.none());
+        new Neo4jSchemaInitializer(Neo4jClient.create(driver)).createSchema();
+
+        try (Session session = driver.session()) {
+            session.run("UNWIND range(1, $count) AS id " +
+                    "CREATE (:Person {userId: id, name: 'person-' + id})", Map.of("count", PERSON_COUNT)).consume();
+            session.run("MATCH (p1:Person) UNWIND range(1, 10) AS offset " +
+                    "MATCH (p2:Person {userId: p1.userId + offset}) " +
+                    "CREATE (p1) -[:CONNECTED_TO]-> (p2)").consume();
+            session.run("MATCH (p1:Person) WHERE p1.userId % 2 = 0 " +
+                    "MATCH (p2:Person {userId: p1.userId + 1}) " +
+                    "CREATE (p1) -[:REQUESTED_TO]-> (p2)").consume();
+        }
+    }
+
+    @AfterAll
+    static void closeDriver() {
+        if (driver != null) driver.close();
+    }
+
+    @TestFactory
+    List<DynamicTest> repositoryQueriesStayWithinBaseline() throws IOException {
+        Properties baseline = loadBaseline();
+        boolean record = Boolean.getBoolean("neo4j.profile.record");
+        Map<String, Long> measured = new LinkedHashMap<>();
+
+        List<DynamicTest> tests = new ArrayList<>();
+        repositoryQueries().forEach((name, query) -> tests.add(DynamicTest.dynamicTest(name, () -> {
+            ProfiledPlan plan = profile(query.cypher(), query.parameters());
+            long dbHits = totalDbHits(plan);
+            measured.put(name, dbHits);
+
+            List<String> scans = new ArrayList<>();
+            collectScans(plan, scans);
+            assertTrue(scans.isEmpty(), name + " uses " + scans + " instead of an index seek");
+
+            if (record) {
+                writeBaseline(measured);
+                return;
+            }
+            String recorded = baseline.getProperty(name);
+            assertNotNull(recorded, "No db hit baseline recorded for " + name + ", re-record with -Dneo4j.profile.record=true");
+            long limit = (long) (Long.parseLong(recorded) * (1 + TOLERANCE));
+            assertTrue(dbHits <= limit, name + " took " + dbHits + " db hits, baseline is " + recorded);
+        })));
+        return tests;
+    }
+
+    private static Map<String, RepositoryQuery> repositoryQueries() {
+        Map<String, RepositoryQuery> queries = new LinkedHashMap<>();
+        // derived finder, spelled out the way Spring Data Neo4j generates it
+        queries.put("getByName", new RepositoryQuery(
+                "MATCH (n:Person) WHERE n.name = $name RETURN n", Map.of("name", SAMPLE_PARAMETERS.get("name"))));
+
+        for (Method method : PersonRepository.class.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query == null) continue;
+            Map<String, Object> parameters = new HashMap<>();
+            for (Parameter parameter : method.getParameters()) {
+                String name = parameter.getAnnotation(Param.class).value();
+                parameters.put(name, SAMPLE_PARAMETERS.get(name));
+            }
+            queries.put(method.getName(), new RepositoryQuery(query.value(), parameters));
+        }
+        return queries;
+    }
+
+    // writes are rolled back so every query profiles against the same graph
+    private static ProfiledPlan profile(String cypher, Map<String, Object> parameters) {
+        try (Session session = driver.session(); Transaction transaction = session.beginTransaction()) {
+            ProfiledPlan plan = transaction.run("PROFILE " + cypher, parameters).consume().profile();
+            transaction.rollback();
+            return plan;
+        }
+    }
+
+    private static long totalDbHits(ProfiledPlan plan) {
+        long dbHits = plan.dbHits();
+        for (ProfiledPlan child : plan.children()) {
+            dbHits += totalDbHits(child);
+        }
+        return dbHits;
+    }
+
+    private static void collectScans(ProfiledPlan plan, List<String> scans) {
+        String operator = plan.operatorType().split("@")[0];
+        if (SCAN_OPERATORS.contains(operator)) scans.add(operator);
+        for (ProfiledPlan child : plan.children()) {
+            collectScans(child, scans);
+        }
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream inputStream = PersonRepositoryQueryPlanTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            if (inputStream != null) baseline.load(inputStream);
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Map<String, Long> measured) throws IOException {
+        Properties baseline = loadBaseline();
+        measured.forEach((name, dbHits) -> baseline.setProperty(name, Long.toString(dbHits)));
+        try (OutputStream outputStream = Files.newOutputStream(BASELINE_PATH)) {
+            baseline.store(outputStream, "PersonRepository db hits on a " + PERSON_COUNT + " person synthetic graph, recorded on "
+                    + neo4j.getDockerImageName());
+        }
+    }
+
+    private record RepositoryQuery(String cypher, Map<String, Object> parameters) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.divyansh.linkedin.connections_service.service;
+
+import com.divyansh.linkedin.connections_service.auth.UserContextHolder;
+import com.divyansh.linkedin.connections_service.dto.ConnectionPathDTO;
+import com.divyansh.linkedin.connections_service.dto.ConnectionPathDTO.Status;
+import com.divyansh.linkedin.connections_service.repository.ConnectionGraphRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPathServiceTest {
+
+    private final FakeGraph graph = new FakeGraph();
+
+    @Test
+    void findsTheShortestPathFromBothEnds() {
+        chain(1, 8);
+        graph.connect(2, 7);
+
+        ConnectionPathDTO result = search(service(6, 1000, 500), 1, 8);
+
+        assertEquals(Status.FOUND, result.getStatus());
+        assertEquals(List.of(1L, 2L, 7L, 8L), result.getPath());
+        assertEquals(3, result.getSearchedDepth());
+    }
+
+    @Test
+    void stopsAtTheDepthLimit() {
+        chain(1, 10);
+
+        ConnectionPathDTO result = search(service(3, 1000, 500), 1, 10);
+
+        assertEquals(Status.NOT_FOUND, result.getStatus());
+        assertEquals(List.of(), result.getPath());
+        assertEquals(3, result.getSearchedDepth());
+    }
+
+    @Test
+    void stopsWhenTheExpansionBudgetIsSpent() {
+        chain(1, 100);
+
+        ConnectionPathDTO result = search(service(50, 5, 500), 1, 100);
+
+        assertEquals(Status.BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(5, result.getExpandedNodes());
+    }
+
+    @Test
+    void neverExpandsMoreThanTheRemainingBudget() {
+        // two stars, after expanding both centres the next level has 20 nodes but only 4 expansions are left
+        for (long leaf = 10; leaf < 30; leaf++) graph.connect(1, leaf);
+        for (long leaf = 200; leaf < 220; leaf++) graph.connect(100, leaf);
+
+        ConnectionPathDTO result = search(service(6, 6, 3), 1, 100);
+
+        assertEquals(Status.BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(6, result.getExpandedNodes());
+        assertTrue(graph.batches.stream().allMatch(batch -> batch.size() <= 3), "batches " + graph.batches);
+    }
+
+    @Test
+    void stopsAtTheDeadline() {
+        chain(1, 100);
+        graph.delayMs = 20;
+
+        ConnectionPathDTO result = search(service(50, 1000, 500, 10), 1, 100);
+
+        assertEquals(Status.TIMED_OUT, result.getStatus());
+        assertTrue(graph.batches.size() < 98, "searched " + graph.batches.size() + " levels");
+    }
+
+    @Test
+    void stopsWhenNeitherSideHasAnythingLeftToExpand() {
+        graph.connect(1, 2);
+        graph.connect(3, 4);
+
+        ConnectionPathDTO result = search(service(6, 1000, 500), 1, 4);
+
+        assertEquals(Status.NOT_FOUND, result.getStatus());
+    }
+
+    private ConnectionPathService service(int maxDepth, int maxExpansions, int batchSize) {
+        return service(maxDepth, maxExpansions, batchSize, 5000);
+    }
+
+    private ConnectionPathService service(int maxDepth, int maxExpansions, int batchSize, long timeoutMs) {
+        ConnectionPathService service = new ConnectionPathService(graph);
+        ReflectionTestUtils.setField(service, "maxDepthLimit", maxDepth);
+        ReflectionTestUtils.setField(service, "maxExpansions", maxExpansions);
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        ReflectionTestUtils.setField(service, "timeoutMs", timeoutMs);
+        return service;
+    }
+
+    private static ConnectionPathDTO search(ConnectionPathService service, long viewerId, long targetId) {
+        return UserContextHolder.callWithUserId(viewerId, () -> service.getConnectionPath(targetId, null));
+    }
+
+    private void chain(long first, long last) {
+        for (long id = first; id < last; id++) graph.connect(id, id + 1);
+    }
+
+    private static class FakeGraph extends ConnectionGraphRepository {
+
+        private final Map<Long, List<Long>> adjacency = new HashMap<>();
+        private final List<List<Long>> batches = new ArrayList<>();
+        private long delayMs;
+
+        FakeGraph() {
+            super(null);
+        }
+
+        void connect(long userId, long connectionId) {
+            adjacency.computeIfAbsent(userId, key -> new ArrayList<>()).add(connectionId);
+            adjacency.computeIfAbsent(connectionId, key -> new ArrayList<>()).add(userId);
+        }
+
+        @Override
+        public Map<Long, long[]> getConnectionIds(Collection<Long> userIds) {
+            batches.add(List.copyOf(userIds));
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Map<Long, long[]> result = new HashMap<>();
+            for (Long userId : userIds) {
+                List<Long> connections = adjacency.get(userId);
+                if (connections != null) result.put(userId, connections.stream().mapToLong(Long::longValue).toArray());
+            }
+            return result;
+        }
+    }
+}
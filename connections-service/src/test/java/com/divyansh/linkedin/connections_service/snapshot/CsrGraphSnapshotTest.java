@@ -0,0 +1,131 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter;
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsrGraphSnapshotTest {
+
+    private static final int NODE_COUNT = 50;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsAcrossChunkBoundaries() throws IOException {
+        Map<Long, TreeSet<Long>> graph = sampleGraph();
+        Path file = writeSnapshot(graph);
+
+        // 16 byte chunks hold two ids or offsets and four neighbours, so nearly every read crosses a chunk
+        CsrGraphSnapshot chunked = CsrGraphSnapshot.open(file, 16);
+        CsrGraphSnapshot whole = CsrGraphSnapshot.open(file);
+
+        assertEquals(NODE_COUNT, chunked.getNodeCount());
+        assertEquals(7L, chunked.getVersion());
+        for (int index = 0; index < NODE_COUNT; index++) {
+            long userId = chunked.userIdAt(index);
+            assertEquals(index, chunked.indexOf(userId));
+            long[] expected = graph.get(userId).stream().mapToLong(Long::longValue).toArray();
+            assertArrayEquals(expected, chunked.neighbourIds(index), "connections of " + userId);
+            assertArrayEquals(whole.neighbourIds(index), chunked.neighbourIds(index));
+        }
+        assertTrue(chunked.indexOf(5) < 0);
+        assertTrue(chunked.indexOf(Long.MAX_VALUE) < 0);
+    }
+
+    @Test
+    void edgesStreamEveryConnectionInOrder() throws IOException {
+        Map<Long, TreeSet<Long>> graph = sampleGraph();
+        CsrGraphSnapshot snapshot = CsrGraphSnapshot.open(writeSnapshot(graph), 8);
+
+        List<long[]> expected = new ArrayList<>();
+        graph.forEach((source, targets) -> targets.forEach(target -> expected.add(new long[]{source, target})));
+        List<long[]> streamed = new ArrayList<>();
+        try (EdgeCursor edges = snapshot.edges()) {
+            while (edges.next()) streamed.add(new long[]{edges.source(), edges.target()});
+        }
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), streamed.get(i));
+        }
+        assertEquals(expected.size(), snapshot.getNeighbourCount());
+    }
+
+    @Test
+    void writerDropsDuplicatesSelfLoopsAndUnknownUsers() throws IOException {
+        long[] nodeIds = {1, 2, 3};
+        ExternalEdgeSorter sorter = new ExternalEdgeSorter(dir, 16);
+        sorter.add(1, 2);
+        sorter.add(1, 2);
+        sorter.add(2, 1);
+        sorter.add(2, 2);
+        sorter.add(2, 99);
+        sorter.add(99, 3);
+        Path file = dir.resolve("small.csr");
+        try (EdgeCursor edges = sorter.sorted()) {
+            CsrSnapshotWriter.write(file, 1, nodeIds, nodeIds.length, edges);
+        }
+        sorter.close();
+
+        CsrGraphSnapshot snapshot = CsrGraphSnapshot.open(file);
+        assertArrayEquals(new long[]{2}, snapshot.neighbourIds(0));
+        assertArrayEquals(new long[]{1}, snapshot.neighbourIds(1));
+        assertArrayEquals(new long[]{}, snapshot.neighbourIds(2));
+        assertEquals(2, snapshot.getNeighbourCount());
+    }
+
+    @Test
+    void rejectsChunksThatAreNotAPowerOfTwo() throws IOException {
+        Path file = writeSnapshot(sampleGraph());
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphSnapshot.open(file, 24));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphSnapshot.open(file, 4));
+    }
+
+    // user ids 10, 20, ... with a ring plus a few hubs, so degrees and slice lengths vary
+    private static Map<Long, TreeSet<Long>> sampleGraph() {
+        Map<Long, TreeSet<Long>> graph = new TreeMap<>();
+        for (int i = 1; i <= NODE_COUNT; i++) graph.put(i * 10L, new TreeSet<>());
+        for (int i = 1; i <= NODE_COUNT; i++) {
+            connect(graph, i * 10L, (i % NODE_COUNT + 1) * 10L);
+            if (i % 7 == 0) {
+                for (int j = 1; j <= NODE_COUNT; j += 3) {
+                    if (j != i) connect(graph, i * 10L, j * 10L);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static void connect(Map<Long, TreeSet<Long>> graph, long a, long b) {
+        graph.get(a).add(b);
+        graph.get(b).add(a);
+    }
+
+    private Path writeSnapshot(Map<Long, TreeSet<Long>> graph) throws IOException {
+        long[] nodeIds = graph.keySet().stream().mapToLong(Long::longValue).toArray();
+        Path file = dir.resolve("graph.csr");
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(dir, 32)) {
+            for (Map.Entry<Long, TreeSet<Long>> entry : graph.entrySet()) {
+                for (long target : entry.getValue()) sorter.add(entry.getKey(), target);
+            }
+            try (EdgeCursor edges = sorter.sorted()) {
+                CsrSnapshotWriter.write(file, 7, nodeIds, nodeIds.length, edges);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,110 @@
+package com.divyansh.linkedin.connections_service.snapshot;
+
+import com.divyansh.linkedin.connections_service.utils.ExternalEdgeSorter.EdgeCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphDeltaTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsEachConnectionOnceInBothDirections() throws IOException {
+        GraphDelta delta = GraphDelta.open(dir.resolve("delta.log"));
+        delta.add(1, 2);
+        delta.add(2, 1);
+        delta.add(1, 2);
+        delta.add(3, 3);
+        delta.add(3, 1);
+        delta.close();
+
+        assertEquals(2, delta.edgeCount());
+        assertEquals(Set.of(2L, 3L), delta.connectionsOf(1));
+        assertEquals(Set.of(1L), delta.connectionsOf(2));
+        assertEquals(Set.of(), delta.connectionsOf(4));
+        assertArrayEquals(new long[]{1, 2, 3}, delta.userIds());
+        // only new connections are logged
+        assertEquals(2 * 16, Files.size(dir.resolve("delta.log")));
+    }
+
+    @Test
+    void recoversAndCompactsEveryLog() throws IOException {
+        Path log = dir.resolve("delta.log");
+        Path merging = dir.resolve("delta.merging");
+        GraphDelta frozen = GraphDelta.open(merging);
+        frozen.add(1, 2);
+        frozen.add(2, 3);
+        frozen.close();
+        GraphDelta active = GraphDelta.open(log);
+        active.add(3, 2);
+        active.add(4, 5);
+        active.close();
+
+        GraphDelta recovered = GraphDelta.recover(log, merging);
+        recovered.add(5, 6);
+        recovered.close();
+
+        assertEquals(4, recovered.edgeCount());
+        assertEquals(Set.of(1L, 3L), recovered.connectionsOf(2));
+        assertFalse(Files.exists(merging));
+        assertFalse(Files.exists(dir.resolve("delta.log.tmp")));
+        // the duplicate 3 - 2 is compacted away, the new connection is appended after the compacted log
+        assertEquals(4 * 16, Files.size(log));
+
+        GraphDelta reopened = GraphDelta.recover(log);
+        reopened.close();
+        assertEquals(4, reopened.edgeCount());
+        assertEquals(Set.of(5L), reopened.connectionsOf(6));
+    }
+
+    @Test
+    void dropsATornLastRecord() throws IOException {
+        Path log = dir.resolve("delta.log");
+        GraphDelta delta = GraphDelta.open(log);
+        delta.add(1, 2);
+        delta.add(3, 4);
+        delta.close();
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(16 + 5);
+        }
+
+        GraphDelta recovered = GraphDelta.recover(log);
+        recovered.close();
+
+        assertEquals(1, recovered.edgeCount());
+        assertEquals(Set.of(2L), recovered.connectionsOf(1));
+        assertTrue(recovered.connectionsOf(3).isEmpty());
+        assertEquals(16, Files.size(log));
+    }
+
+    @Test
+    void streamsBothDirectionsSorted() throws IOException {
+        GraphDelta delta = GraphDelta.empty();
+        delta.add(5, 1);
+        delta.add(2, 9);
+        delta.add(1, 2);
+
+        List<long[]> edges = new ArrayList<>();
+        try (EdgeCursor cursor = delta.sortedEdges(dir)) {
+            while (cursor.next()) edges.add(new long[]{cursor.source(), cursor.target()});
+        }
+
+        long[][] expected = {{1, 2}, {1, 5}, {2, 1}, {2, 9}, {5, 1}, {9, 2}};
+        assertArrayEquals(expected, edges.toArray(long[][]::new));
+    }
+}
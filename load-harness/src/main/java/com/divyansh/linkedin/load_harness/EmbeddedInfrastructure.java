@@ -0,0 +1,79 @@
+package com.divyansh.linkedin.load_harness;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-ins for the infrastructure the services run against in docker-compose: one embedded
+ * Postgres with a database per service, a single node KRaft Kafka broker, and an in-process Neo4j.
+ */
+class EmbeddedInfrastructure implements AutoCloseable {
+
+    static final List<String> TOPICS = List.of(
+            "post-created-topic", "post-liked-topic", "send-connection-request-topic", "accept-connection-request-topic");
+    static final List<String> DATABASES = List.of("userDB", "postsDB", "notificationDB");
+
+    private final EmbeddedPostgres postgres;
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final Neo4j neo4j;
+    private final Driver neo4jDriver;
+
+    EmbeddedInfrastructure() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String database : DATABASES) {
+                statement.execute("CREATE DATABASE \"" + database + "\"");
+            }
+        }
+
+        kafka = new EmbeddedKafkaKraftBroker(1, 3, TOPICS.toArray(String[]::new));
+        kafka.afterPropertiesSet();
+
+        neo4j = Neo4jBuilders.newInProcessBuilder()
+                .withDisabledServer()
+                .build();
+        neo4jDriver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none());
+    }
+
+    String jdbcUrl(String database) {
+        return postgres.getJdbcUrl("postgres", database);
+    }
+
+    String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    String neo4jUri() {
+        return neo4j.boltURI().toString();
+    }
+
+    /**
+     * Nothing syncs users into the graph yet, so the harness creates the Person node a real signup would need.
+     */
+    void createPerson(long userId, String name) {
+        neo4jDriver.executableQuery("MERGE (p:Person {userId: $userId}) SET p.name = $name")
+                .withParameters(Map.of("userId", userId, "name", name))
+                .execute();
+    }
+
+    @Override
+    public void close() throws IOException {
+        neo4jDriver.close();
+        neo4j.close();
+        kafka.destroy();
+        postgres.close();
+    }
+}
@@ -0,0 +1,49 @@
+package com.divyansh.linkedin.load_harness;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as --name=value.
+ */
+record HarnessOptions(Path servicesDir, double rate, Duration duration, Duration warmup, int users,
+                      Map<Operation, Integer> mix, Duration drainTimeout) {
+
+    private static final String DEFAULT_MIX = "signup:2,login:8,create-post:10,like:30,connection-request:8,accept-connection:4,first-degree:38";
+
+    static HarnessOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        HarnessOptions options = new HarnessOptions(
+                Path.of(values.getOrDefault("services-dir", "..")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                Duration.parse(values.getOrDefault("warmup", "PT20S")),
+                Integer.parseInt(values.getOrDefault("users", "500")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Duration.parse(values.getOrDefault("drain-timeout", "PT2M")));
+        values.keySet().removeAll(Set.of("services-dir", "rate", "duration", "warmup", "users", "mix", "drain-timeout"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,154 @@
+package com.divyansh.linkedin.load_harness;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Samples how far notification-service's consumer group is behind the producers, every second.
+ * Time lag is the age of the oldest record the group hasn't committed yet, read from the record's
+ * producer timestamp, so it covers the broker, the consumer and the processing in between.
+ */
+class KafkaLagMonitor implements AutoCloseable {
+
+    private static final String GROUP_ID = "notification-service";
+    private static final long MAX_LAG_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Admin admin;
+    private final KafkaConsumer<byte[], byte[]> peeker;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<String> topics = EmbeddedInfrastructure.TOPICS;
+    private final Map<String, Recorder> lagMillis = new HashMap<>();
+    private final AtomicLongArray maxRecordsBehind;
+    private final AtomicLong lastRecordsBehind = new AtomicLong();
+
+    KafkaLagMonitor(String bootstrapServers) {
+        admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+        peeker = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1),
+                new ByteArrayDeserializer(), new ByteArrayDeserializer());
+        for (String topic : topics) {
+            lagMillis.put(topic, new Recorder(MAX_LAG_MILLIS, 3));
+        }
+        maxRecordsBehind = new AtomicLongArray(topics.size());
+    }
+
+    void start() {
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (Exception e) {
+                System.err.println("Kafka lag sample failed: " + e);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    void reset() {
+        lagMillis.values().forEach(Recorder::reset);
+        for (int i = 0; i < topics.size(); i++) {
+            maxRecordsBehind.set(i, 0);
+        }
+    }
+
+    /**
+     * Waits for the consumer group to catch up once the load has stopped.
+     * @return how long that took, or null if it didn't within the timeout
+     */
+    Duration awaitDrained(Duration timeout) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(1000);
+            if (lastRecordsBehind.get() == 0) {
+                return Duration.ofNanos(System.nanoTime() - startedAt);
+            }
+        }
+        return null;
+    }
+
+    void print() {
+        System.out.printf("%n%-34s %14s %14s %14s %16s%n", "Kafka topic (" + GROUP_ID + ")", "p50 lag ms", "p99 lag ms", "max lag ms", "max records");
+        for (int i = 0; i < topics.size(); i++) {
+            Histogram histogram = lagMillis.get(topics.get(i)).getIntervalHistogram();
+            System.out.printf("%-34s %14d %14d %14d %16d%n", topics.get(i), histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(99), histogram.getMaxValue(), maxRecordsBehind.get(i));
+        }
+    }
+
+    private void sample() throws ExecutionException, InterruptedException {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(GROUP_ID)
+                .partitionsToOffsetAndMetadata().get();
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> earliestRequest = new HashMap<>();
+        admin.describeTopics(topics).allTopicNames().get().forEach((topic, description) ->
+                description.partitions().forEach(partition -> {
+                    request.put(new TopicPartition(topic, partition.partition()), OffsetSpec.latest());
+                    earliestRequest.put(new TopicPartition(topic, partition.partition()), OffsetSpec.earliest());
+                }));
+        Map<TopicPartition, ListOffsetsResultInfo> end = admin.listOffsets(request).all().get();
+        Map<TopicPartition, ListOffsetsResultInfo> earliest = admin.listOffsets(earliestRequest).all().get();
+
+        long now = System.currentTimeMillis();
+        long totalBehind = 0;
+        for (int i = 0; i < topics.size(); i++) {
+            String topic = topics.get(i);
+            long topicBehind = 0;
+            long oldestMillis = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResultInfo> partition : end.entrySet()) {
+                if (!partition.getKey().topic().equals(topic)) continue;
+                OffsetAndMetadata offset = committed.get(partition.getKey());
+                long position = offset != null ? offset.offset() : earliest.get(partition.getKey()).offset();
+                long behind = partition.getValue().offset() - position;
+                if (behind <= 0) continue;
+                topicBehind += behind;
+                Long timestamp = peekTimestamp(partition.getKey(), position);
+                if (timestamp != null) oldestMillis = Math.max(oldestMillis, now - timestamp);
+            }
+            lagMillis.get(topic).recordValue(Math.min(Math.max(0, oldestMillis), MAX_LAG_MILLIS));
+            maxRecordsBehind.accumulateAndGet(i, topicBehind, Math::max);
+            totalBehind += topicBehind;
+        }
+        lastRecordsBehind.set(totalBehind);
+    }
+
+    private Long peekTimestamp(TopicPartition partition, long offset) {
+        peeker.assign(List.of(partition));
+        peeker.seek(partition, offset);
+        ConsumerRecords<byte[], byte[]> records = peeker.poll(Duration.ofMillis(500));
+        return records.isEmpty() ? null : records.iterator().next().timestamp();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        peeker.close();
+        admin.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.divyansh.linkedin.load_harness;
+
+import com.divyansh.linkedin.load_harness.ServiceLauncher.RunningService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots user, connections, posts and notification services in this JVM against embedded Postgres,
+ * Kafka and Neo4j, drives a synthetic workload through them and reports per endpoint latency
+ * percentiles and how far notification-service's consumers fall behind.
+ */
+public class LoadHarness {
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            run(HarnessOptions.parse(args));
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // the services' own non-daemon threads would otherwise keep the JVM alive
+        System.exit(status);
+    }
+
+    private static void run(HarnessOptions options) throws Exception {
+        System.out.printf("Rate %.0f req/s, warmup %s, duration %s, %d users, mix %s%n",
+                options.rate(), options.warmup(), options.duration(), options.users(), options.mix());
+
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure()) {
+            ServiceLauncher launcher = new ServiceLauncher(options.servicesDir());
+            String kafka = "--spring.kafka.bootstrap-servers=" + infrastructure.kafkaBootstrapServers();
+
+            RunningService userService = launcher.start("user-service", datasource(infrastructure, "userDB"));
+            RunningService connectionsService = launcher.start("connections-service",
+                    List.of(kafka, "--spring.neo4j.uri=" + infrastructure.neo4jUri()));
+            // without Eureka, Feign finds connections-service through the simple discovery client
+            String connectionsInstance = "--spring.cloud.discovery.client.simple.instances.connections-service[0].uri="
+                    + connectionsService.baseUrl();
+            RunningService postsService = launcher.start("posts-service",
+                    with(datasource(infrastructure, "postsDB"), kafka, connectionsInstance));
+            launcher.start("notification-service",
+                    with(datasource(infrastructure, "notificationDB"), kafka, connectionsInstance));
+
+            LatencyReport report = new LatencyReport();
+            Workload workload = new Workload(options, report, infrastructure, userService, postsService, connectionsService);
+            workload.setUp();
+
+            try (KafkaLagMonitor lagMonitor = new KafkaLagMonitor(infrastructure.kafkaBootstrapServers())) {
+                lagMonitor.start();
+                System.out.println("Warming up for " + options.warmup());
+                workload.run(options.warmup());
+                report.reset();
+                lagMonitor.reset();
+
+                System.out.println("Measuring for " + options.duration());
+                long startedAt = System.nanoTime();
+                workload.run(options.duration());
+                report.print((System.nanoTime() - startedAt) / 1e9);
+
+                Duration drained = lagMonitor.awaitDrained(options.drainTimeout());
+                lagMonitor.print();
+                if (drained != null) {
+                    System.out.printf("%nnotification-service caught up %.1fs after the load stopped%n", drained.toMillis() / 1000.0);
+                } else {
+                    System.out.printf("%nnotification-service was still behind %s after the load stopped%n", options.drainTimeout());
+                }
+            }
+        }
+    }
+
+    private static List<String> datasource(EmbeddedInfrastructure infrastructure, String database) {
+        return List.of(
+                "--spring.datasource.url=" + infrastructure.jdbcUrl(database),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=");
+    }
+
+    private static List<String> with(List<String> args, String... more) {
+        List<String> all = new ArrayList<>(args);
+        all.addAll(List.of(more));
+        return all;
+    }
+}
@@ -0,0 +1,33 @@
+package com.divyansh.linkedin.load_harness;
+
+/**
+ * The requests the workload mixes, one latency histogram each.
+ */
+enum Operation {
+    SIGNUP("signup", "POST /users/auth/signup"),
+    LOGIN("login", "POST /users/auth/login"),
+    CREATE_POST("create-post", "POST /posts/core"),
+    LIKE("like", "POST /posts/likes/{postId}"),
+    CONNECTION_REQUEST("connection-request", "POST /connections/core/request/{userId}"),
+    ACCEPT_CONNECTION("accept-connection", "POST /connections/core/accept/{userId}"),
+    FIRST_DEGREE("first-degree", "GET /connections/core/first-degree");
+
+    private final String optionName;
+    private final String endpoint;
+
+    Operation(String optionName, String endpoint) {
+        this.optionName = optionName;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.optionName.equals(name)) return operation;
+        }
+        throw new IllegalArgumentException("Unknown operation " + name);
+    }
+}
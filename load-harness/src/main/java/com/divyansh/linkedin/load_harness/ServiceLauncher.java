@@ -0,0 +1,102 @@
+package com.divyansh.linkedin.load_harness;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Starts a service from its Spring Boot jar inside this JVM. Every service gets a class loader of its
+ * own, parented to the platform loader, so the services' dependencies don't meet each other or the
+ * harness's embedded infrastructure, and the event class copies in notification-service don't clash
+ * with the producers' originals.
+ */
+class ServiceLauncher {
+
+    private static final String JAR_LAUNCHER = "org.springframework.boot.loader.launch.JarLauncher";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+    private static final List<String> COMMON_ARGS = List.of(
+            "--eureka.client.enabled=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.apache.kafka=WARN");
+
+    private final Path servicesDir;
+
+    ServiceLauncher(Path servicesDir) {
+        this.servicesDir = servicesDir;
+    }
+
+    RunningService start(String service, List<String> args) throws IOException, InterruptedException {
+        Path jar = findJar(service);
+        int port = freePort();
+        List<String> allArgs = new ArrayList<>(COMMON_ARGS);
+        allArgs.add("--server.port=" + port);
+        allArgs.addAll(args);
+
+        URLClassLoader classLoader = new URLClassLoader(service, new URL[]{jar.toUri().toURL()}, ClassLoader.getPlatformClassLoader());
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Thread main = new Thread(() -> {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            try {
+                // returns once the application context is refreshed, the web server keeps running
+                Class.forName(JAR_LAUNCHER, true, classLoader)
+                        .getMethod("main", String[].class)
+                        .invoke(null, (Object) allArgs.toArray(String[]::new));
+                started.complete(null);
+            } catch (InvocationTargetException e) {
+                started.completeExceptionally(e.getCause());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                started.completeExceptionally(e);
+            }
+        }, service + "-main");
+        main.start();
+
+        long startedAt = System.nanoTime();
+        try {
+            started.get(START_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(service + " failed to start", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(service + " did not start within " + START_TIMEOUT);
+        }
+        System.out.printf("Started %s on port %d in %.1fs%n", service, port, (System.nanoTime() - startedAt) / 1e9);
+        return new RunningService(service, port);
+    }
+
+    private Path findJar(String service) throws IOException {
+        Path target = servicesDir.resolve(service).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No build output in " + target.toAbsolutePath() + ", package " + service + " first");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + target.toAbsolutePath() + ", package " + service + " first"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    record RunningService(String name, int port) {
+
+        String baseUrl() {
+            return "http://localhost:" + port;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.divyansh.linkedin.load_harness;
+
+import com.divyansh.linkedin.load_harness.ServiceLauncher.RunningService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the services with an open loop workload: requests are started at a fixed arrival rate,
+ * each on its own virtual thread, whether or not earlier ones have finished, and every request
+ * is timed from the moment it was due to start.
+ */
+class Workload {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String PASSWORD = "load-harness";
+    private static final int RECENT_POSTS = 4096;
+    private static final int SETUP_CONCURRENCY = 32;
+
+    private final HarnessOptions options;
+    private final LatencyReport report;
+    private final EmbeddedInfrastructure infrastructure;
+    private final RunningService userService;
+    private final RunningService postsService;
+    private final RunningService connectionsService;
+    private final HttpClient client;
+
+    private final Operation[] weightedOperations;
+    private final int[] cumulativeWeights;
+
+    private final List<User> users = new CopyOnWriteArrayList<>();
+    private final AtomicLongArray recentPosts = new AtomicLongArray(RECENT_POSTS);
+    private final AtomicLong postCount = new AtomicLong();
+    private final Set<String> likes = ConcurrentHashMap.newKeySet();
+    private final Set<String> requestedPairs = ConcurrentHashMap.newKeySet();
+    private final Queue<long[]> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicLong signupSequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    Workload(HarnessOptions options, LatencyReport report, EmbeddedInfrastructure infrastructure,
+             RunningService userService, RunningService postsService, RunningService connectionsService) {
+        this.options = options;
+        this.report = report;
+        this.infrastructure = infrastructure;
+        this.userService = userService;
+        this.postsService = postsService;
+        this.connectionsService = connectionsService;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Map<Operation, Integer> mix = options.mix();
+        weightedOperations = mix.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[weightedOperations.length];
+        int total = 0;
+        for (int i = 0; i < weightedOperations.length; i++) {
+            total += mix.get(weightedOperations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+    }
+
+    /**
+     * Signs up and logs in the initial users and gives them a few posts to like, outside the measurement.
+     */
+    void setUp() throws InterruptedException {
+        long startedAt = System.nanoTime();
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        User user = signUp();
+                        if (user != null && login(user)) createPost(user);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No user could sign up, check the user-service logs");
+        }
+        System.out.printf("Set up %d users and %d posts in %.1fs%n", users.size(), postCount.get(), (System.nanoTime() - startedAt) / 1e9);
+    }
+
+    void run(Duration duration) {
+        long intervalNanos = (long) (1_000_000_000L / options.rate());
+        long startedAt = System.nanoTime();
+        long endAt = startedAt + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = startedAt; due < endAt; due += intervalNanos) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                long intendedStart = due;
+                Operation operation = pickOperation();
+                executor.execute(() -> execute(operation, intendedStart));
+            }
+        }
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) return weightedOperations[i];
+        }
+        return weightedOperations[weightedOperations.length - 1];
+    }
+
+    private void execute(Operation operation, long intendedStart) {
+        switch (operation) {
+            case SIGNUP -> signUp(intendedStart);
+            case LOGIN -> login(randomUser(), intendedStart);
+            case CREATE_POST -> createPost(randomUser(), intendedStart);
+            case LIKE -> like(intendedStart);
+            case CONNECTION_REQUEST -> sendConnectionRequest(intendedStart);
+            case ACCEPT_CONNECTION -> acceptConnection(intendedStart);
+            case FIRST_DEGREE -> firstDegree(intendedStart);
+        }
+    }
+
+    private User signUp() {
+        return signUp(System.nanoTime());
+    }
+
+    private User signUp(long intendedStart) {
+        long sequence = signupSequence.incrementAndGet();
+        String name = "Load User " + sequence;
+        String email = "load-" + runId + "-" + sequence + "@example.com";
+        HttpResponse<String> response = send(Operation.SIGNUP, intendedStart, post(userService, "/users/auth/signup", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"name\":\"" + name + "\"}"));
+        Long id = parseId(response);
+        if (id == null) return null;
+        infrastructure.createPerson(id, name);
+        User user = new User(id, email);
+        users.add(user);
+        return user;
+    }
+
+    private boolean login(User user) {
+        return login(user, System.nanoTime());
+    }
+
+    private boolean login(User user, long intendedStart) {
+        HttpResponse<String> response = send(Operation.LOGIN, intendedStart, post(userService, "/users/auth/login", null,
+                "{\"email\":\"" + user.email() + "\",\"password\":\"" + PASSWORD + "\"}"));
+        return isSuccess(response);
+    }
+
+    private void createPost(User user) {
+        createPost(user, System.nanoTime());
+    }
+
+    private void createPost(User user, long intendedStart) {
+        HttpResponse<String> response = send(Operation.CREATE_POST, intendedStart, post(postsService, "/posts/core", user.id(),
+                "{\"content\":\"Load harness post from user " + user.id() + "\"}"));
+        Long id = parseId(response);
+        if (id != null) {
+            recentPosts.set((int) (postCount.getAndIncrement() % RECENT_POSTS), id);
+        }
+    }
+
+    private void like(long intendedStart) {
+        long posts = Math.min(postCount.get(), RECENT_POSTS);
+        if (posts == 0) {
+            createPost(randomUser(), intendedStart);
+            return;
+        }
+        long postId = recentPosts.get(ThreadLocalRandom.current().nextInt((int) posts));
+        // liking the same post twice is rejected, pick someone who hasn't liked it yet
+        for (int attempt = 0; attempt < 5; attempt++) {
+            User user = randomUser();
+            if (likes.add(postId + ":" + user.id())) {
+                send(Operation.LIKE, intendedStart, post(postsService, "/posts/likes/" + postId, user.id(), null));
+                return;
+            }
+        }
+        createPost(randomUser(), intendedStart);
+    }
+
+    private void sendConnectionRequest(long intendedStart) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            User sender = randomUser();
+            User receiver = randomUser();
+            if (sender.id() == receiver.id()) continue;
+            String pair = Math.min(sender.id(), receiver.id()) + ":" + Math.max(sender.id(), receiver.id());
+            if (!requestedPairs.add(pair)) continue;
+
+            HttpResponse<String> response = send(Operation.CONNECTION_REQUEST, intendedStart,
+                    post(connectionsService, "/connections/core/request/" + receiver.id(), sender.id(), null));
+            if (isSuccess(response)) {
+                pendingRequests.add(new long[]{sender.id(), receiver.id()});
+            }
+            return;
+        }
+        firstDegree(intendedStart);
+    }
+
+    private void acceptConnection(long intendedStart) {
+        long[] request = pendingRequests.poll();
+        if (request == null) {
+            sendConnectionRequest(intendedStart);
+            return;
+        }
+        send(Operation.ACCEPT_CONNECTION, intendedStart,
+                post(connectionsService, "/connections/core/accept/" + request[0], request[1], null));
+    }
+
+    private void firstDegree(long intendedStart) {
+        HttpRequest request = request(connectionsService, "/connections/core/first-degree", randomUser().id()).GET().build();
+        send(Operation.FIRST_DEGREE, intendedStart, request);
+    }
+
+    private HttpRequest post(RunningService service, String path, Long userId, String json) {
+        HttpRequest.Builder builder = request(service, path, userId);
+        if (json == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Calls the service directly, sending the X-User-Id header the gateway would add after validating the token.
+     */
+    private HttpRequest.Builder request(RunningService service, String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(service.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) builder.header("X-User-Id", userId.toString());
+        return builder;
+    }
+
+    private HttpResponse<String> send(Operation operation, long intendedStart, HttpRequest request) {
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // a timeout or refused connection counts as a failed request
+        }
+        report.record(operation, intendedStart, isSuccess(response));
+        return response;
+    }
+
+    private User randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private static Long parseId(HttpResponse<String> response) {
+        if (!isSuccess(response)) return null;
+        Matcher matcher = ID.matcher(response.body());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+    }
+
+    private record User(long id, String email) {
+    }
+}
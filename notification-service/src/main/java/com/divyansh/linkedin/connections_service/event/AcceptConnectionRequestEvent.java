@@ -5,6 +5,7 @@ import lombok.Data;
 
 @Data
 public class AcceptConnectionRequestEvent {
+    private String eventId;
     private Long senderId;
     private Long receiverId;
 }
@@ -5,6 +5,7 @@ import lombok.Data;
 
 @Data
 public class SendConnectionRequestEvent {
+    private String eventId;
     private Long senderId;
     private Long receiverId;
 }
@@ -1,17 +0,0 @@
-package com.divyansh.linkedin.notification_service.auth;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Component
-public class WebConfig implements WebMvcConfigurer {
-
-    @Autowired
-    private UserInterceptor userInterceptor;
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(userInterceptor);
-    }
-}
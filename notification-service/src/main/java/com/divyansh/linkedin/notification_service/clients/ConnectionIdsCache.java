@@ -0,0 +1,133 @@
+package com.divyansh.linkedin.notification_service.clients;
+
+import com.divyansh.linkedin.notification_service.dto.PersonDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches first-degree connection ids in front of {@link ConnectionsClient}, as sorted, distinct
+ * long arrays rather than PersonDTO lists. Entries expire after a TTL, and the cache is bounded by
+ * the total number of ids it holds, each entry also counting a fixed overhead so users without
+ * connections can't fill it unbounded. Concurrent misses for the same user share one remote call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionIdsCache {
+
+    // map node, key, entry, future and array header, about 128 bytes, in 8 byte ids
+    private static final int ENTRY_OVERHEAD_IDS = 16;
+
+    private final ConnectionsClient connectionsClient;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong cachedIds = new AtomicLong();
+
+    @Value("${notifications.connections-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${notifications.connections-cache.max-ids:5000000}")
+    private long maxIds;
+
+    /**
+     * The returned array is shared with other callers and must not be modified.
+     */
+    public long[] getFirstConnectionIds(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.isExpired(now)) {
+            Entry fresh = new Entry(now + ttl.toNanos());
+            entry = entries.compute(userId, (key, current) -> current == null || current.isExpired(now) ? fresh : current);
+            if (entry == fresh) {
+                load(userId, fresh);
+            }
+        }
+        try {
+            return entry.ids.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(Long userId) {
+        Entry removed = entries.remove(userId);
+        if (removed != null) release(removed);
+    }
+
+    private void load(Long userId, Entry entry) {
+        try {
+            long[] ids = connectionsClient.getFirstConnections(userId).stream()
+                    .mapToLong(PersonDTO::getUserId)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            synchronized (entry) {
+                entry.weight = ids.length + ENTRY_OVERHEAD_IDS;
+                if (!entry.removed) cachedIds.addAndGet(entry.weight);
+            }
+            entry.ids.complete(ids);
+            if (cachedIds.get() > maxIds) evict();
+        } catch (RuntimeException e) {
+            // don't cache failures, the waiting callers get the exception and the next call retries
+            entries.remove(userId, entry);
+            entry.ids.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Drops expired entries, then the entries closest to expiry, until the cache is below 90% of its bound.
+     */
+    private synchronized void evict() {
+        if (cachedIds.get() <= maxIds) return;
+        long now = System.nanoTime();
+        List<Map.Entry<Long, Entry>> loaded = new ArrayList<>();
+        for (Map.Entry<Long, Entry> candidate : entries.entrySet()) {
+            if (!candidate.getValue().ids.isDone()) continue;
+            if (candidate.getValue().isExpired(now)) {
+                if (entries.remove(candidate.getKey(), candidate.getValue())) release(candidate.getValue());
+            } else {
+                loaded.add(candidate);
+            }
+        }
+        loaded.sort(Comparator.comparingLong(candidate -> candidate.getValue().expiresAt));
+        long target = maxIds - maxIds / 10;
+        for (int i = 0; i < loaded.size() && cachedIds.get() > target; i++) {
+            if (entries.remove(loaded.get(i).getKey(), loaded.get(i).getValue())) release(loaded.get(i).getValue());
+        }
+        log.debug("Evicted connection ids down to {} ids in {} entries", cachedIds.get(), entries.size());
+    }
+
+    private void release(Entry entry) {
+        synchronized (entry) {
+            if (entry.removed) return;
+            entry.removed = true;
+            cachedIds.addAndGet(-entry.weight);
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<long[]> ids = new CompletableFuture<>();
+        private final long expiresAt;
+        private long weight;
+        private boolean removed;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.divyansh.linkedin.notification_service.config;
+
+import com.divyansh.linkedin.notification_service.consumer.RetryTopicMetrics;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Non-blocking retries for the notification listeners. A record that still fails after a short
+ * in-place retry is republished to the first retry topic of its source topic and the partition moves on.
+ * Each retry tier waits longer before redelivering, and a record that fails every tier is parked on the DLT.
+ * <p>
+ * Listeners that keep the records of a key in order use {@link #ORDERED_CONTAINER_FACTORY} instead: a
+ * record moved to a retry topic would be overtaken by the later records of its key, so those retry in
+ * place, holding back the rest of their partition, and go straight to the DLT once every attempt failed.
+ */
+@Configuration
+public class KafkaRetryConfig {
+
+    public static final List<String> TOPICS = List.of(
+            "post-created-topic",
+            "post-liked-topic",
+            "send-connection-request-topic",
+            "accept-connection-request-topic");
+    public static final int TIERS = 3;
+    public static final String RETRY_DUE_AT_HEADER = "notification-retry-due-at";
+    public static final String ORDERED_CONTAINER_FACTORY = "orderedListenerContainerFactory";
+
+    private static final String RETRY_SUFFIX = "-retry-";
+    private static final String DLT_SUFFIX = "-dlt";
+
+    @Value("${notifications.retry.delays:PT10S,PT1M,PT10M}")
+    private List<Duration> delays;
+
+    @Value("${notifications.retry.in-place-attempts:1}")
+    private long inPlaceAttempts;
+
+    @Value("${notifications.retry.in-place-interval-ms:500}")
+    private long inPlaceIntervalMs;
+
+    // the consumer sleeps through these, so each has to stay well below max.poll.interval.ms
+    @Value("${notifications.retry.ordered-delays:PT1S,PT10S,PT1M}")
+    private List<Duration> orderedDelays;
+
+    public static String retryTopic(String topic, int tier) {
+        return topic + RETRY_SUFFIX + tier;
+    }
+
+    public static String dltTopic(String topic) {
+        return topic + DLT_SUFFIX;
+    }
+
+    /**
+     * Retry tier of a topic, 0 for a source topic.
+     */
+    public static int tierOf(String topic) {
+        int suffix = topic.lastIndexOf(RETRY_SUFFIX);
+        return suffix < 0 ? 0 : Integer.parseInt(topic.substring(suffix + RETRY_SUFFIX.length()));
+    }
+
+    public static String sourceTopic(String topic) {
+        if (topic.endsWith(DLT_SUFFIX)) return topic.substring(0, topic.length() - DLT_SUFFIX.length());
+        int suffix = topic.lastIndexOf(RETRY_SUFFIX);
+        return suffix < 0 ? topic : topic.substring(0, suffix);
+    }
+
+    public static String[] retryTopics(int tier) {
+        return TOPICS.stream().map(topic -> retryTopic(topic, tier)).toArray(String[]::new);
+    }
+
+    public static String[] dltTopics() {
+        return TOPICS.stream().map(KafkaRetryConfig::dltTopic).toArray(String[]::new);
+    }
+
+    /**
+     * Metric tag of a retry or dead-letter topic.
+     */
+    public static String tierName(String topic) {
+        return topic.endsWith(DLT_SUFFIX) ? "dlt" : "retry-" + tierOf(topic);
+    }
+
+    public static String nextTopic(String topic) {
+        int tier = tierOf(topic);
+        return tier < TIERS ? retryTopic(sourceTopic(topic), tier + 1) : dltTopic(sourceTopic(topic));
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics notificationRetryTopics() {
+        if (delays.size() != TIERS) {
+            throw new RuntimeException("notifications.retry.delays needs exactly " + TIERS + " delays, got " + delays);
+        }
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : TOPICS) {
+            for (int tier = 1; tier <= TIERS; tier++) {
+                topics.add(TopicBuilder.name(retryTopic(topic, tier)).partitions(3).replicas(1).build());
+            }
+            topics.add(TopicBuilder.name(dltTopic(topic)).partitions(3).replicas(1).build());
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    /**
+     * Error handler of the source topic listeners, picked up by the auto-configured container factory.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(KafkaOperations<Object, Object> kafkaTemplate, RetryTopicMetrics retryTopicMetrics) {
+        return errorHandler(kafkaTemplate, retryTopicMetrics, new FixedBackOff(inPlaceIntervalMs, inPlaceAttempts), KafkaRetryConfig::nextTopic);
+    }
+
+    @Bean(ORDERED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderedListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaOperations<Object, Object> kafkaTemplate,
+            RetryTopicMetrics retryTopicMetrics) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        BackOff backOff = () -> {
+            Iterator<Duration> remaining = orderedDelays.iterator();
+            return () -> remaining.hasNext() ? remaining.next().toMillis() : BackOffExecution.STOP;
+        };
+        factory.setCommonErrorHandler(errorHandler(kafkaTemplate, retryTopicMetrics, backOff, KafkaRetryConfig::dltTopic));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> retryListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaOperations<Object, Object> kafkaTemplate,
+            RetryTopicMetrics retryTopicMetrics) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(false);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // the tier delay already spaced this attempt out, so a failure goes straight to the next tier
+        factory.setCommonErrorHandler(errorHandler(kafkaTemplate, retryTopicMetrics, new FixedBackOff(0, 0), KafkaRetryConfig::nextTopic));
+        return factory;
+    }
+
+    private DefaultErrorHandler errorHandler(KafkaOperations<Object, Object> kafkaTemplate, RetryTopicMetrics retryTopicMetrics,
+                                             BackOff backOff, UnaryOperator<String> destination) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(destination.apply(record.topic()), -1));
+        recoverer.setHeadersFunction((record, exception) -> {
+            String next = destination.apply(record.topic());
+            retryTopicMetrics.routed(next);
+            Headers headers = new RecordHeaders();
+            if (!next.endsWith(DLT_SUFFIX)) {
+                long dueAt = System.currentTimeMillis() + delays.get(tierOf(next) - 1).toMillis();
+                headers.add(RETRY_DUE_AT_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(dueAt).array());
+            }
+            return headers;
+        });
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+}
@@ -0,0 +1,35 @@
+package com.divyansh.linkedin.notification_service.config;
+
+import com.divyansh.linkedin.notification_service.entity.Notification;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the notification id sequence past ids handed out while the table still used an identity column,
+ * so the pooled sequence never allocates an id that already exists. A no-op once the sequence is ahead.
+ * <p>
+ * Runs while the context is being created, after Hibernate has created the sequence but before the
+ * Kafka listener containers start; a batch consumed earlier would cache a block of stale ids.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void advanceSequence() {
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('" + Notification.ID_SEQUENCE + "', GREATEST(" +
+                        "(SELECT last_value FROM " + Notification.ID_SEQUENCE + "), " +
+                        "(SELECT COALESCE(MAX(id), 0) FROM notification) + ?))",
+                Long.class, Notification.ID_ALLOCATION_SIZE);
+        log.info("Notification id sequence at {}", value);
+    }
+}
@@ -2,31 +2,69 @@ package com.divyansh.linkedin.notification_service.consumer;
 
 import com.divyansh.linkedin.connections_service.event.AcceptConnectionRequestEvent;
 import com.divyansh.linkedin.connections_service.event.SendConnectionRequestEvent;
+import com.divyansh.linkedin.notification_service.clients.ConnectionIdsCache;
+import com.divyansh.linkedin.notification_service.config.KafkaRetryConfig;
+import com.divyansh.linkedin.notification_service.entity.Notification;
+import com.divyansh.linkedin.notification_service.entity.NotificationType;
+import com.divyansh.linkedin.notification_service.service.EventDeduplicator;
+import com.divyansh.linkedin.notification_service.service.NotificationDigester;
 import com.divyansh.linkedin.notification_service.service.SendNotification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ConnectionsServiceConsumer {
 
     private final SendNotification sendNotification;
+    private final NotificationDigester notificationDigester;
+    private final ConnectionIdsCache connectionIdsCache;
+    private final KeyOrderedProcessor keyOrderedProcessor;
+    private final EventDeduplicator eventDeduplicator;
+
+    @KafkaListener(topics = "send-connection-request-topic", containerFactory = KafkaRetryConfig.ORDERED_CONTAINER_FACTORY)
+    public void handleSendConnectionRequest(List<ConsumerRecord<Long, SendConnectionRequestEvent>> records){
+        log.info("handle Connections: handleSendConnectionRequest: {} events",records.size());
+        keyOrderedProcessor.process(records, SendConnectionRequestEvent::getReceiverId, this::sendConnectionRequest);
+    }
 
-    @KafkaListener(topics = "send-connection-request-topic")
-    public void handleSendConnectionRequest(SendConnectionRequestEvent sendConnectionRequestEvent){
-        log.info("handle Connections: handleSendConnectionRequest: {}",sendConnectionRequestEvent);
-        String message = "You have received a connection request from user with id:"+sendConnectionRequestEvent.getSenderId();
+    @KafkaListener(topics = "accept-connection-request-topic", containerFactory = KafkaRetryConfig.ORDERED_CONTAINER_FACTORY)
+    public void handleAcceptConnectionRequest(List<ConsumerRecord<Long, AcceptConnectionRequestEvent>> records){
+        keyOrderedProcessor.process(records, AcceptConnectionRequestEvent::getSenderId, this::acceptConnectionRequest);
+    }
 
-        sendNotification.send(sendConnectionRequestEvent.getReceiverId(),message);
+    void sendConnectionRequest(List<SendConnectionRequestEvent> sendConnectionRequestEvents){
+        eventDeduplicator.process(sendConnectionRequestEvents, SendConnectionRequestEvent::getEventId, this::recordConnectionRequests);
     }
 
-    @KafkaListener(topics = "accept-connection-request-topic")
-    public void handleAcceptConnectionRequest(AcceptConnectionRequestEvent acceptConnectionRequestEvent){
-        String message = "You're connection request has been accepted by user with id:"+acceptConnectionRequestEvent.getReceiverId();
+    void acceptConnectionRequest(List<AcceptConnectionRequestEvent> acceptConnectionRequestEvents){
+        eventDeduplicator.process(acceptConnectionRequestEvents, AcceptConnectionRequestEvent::getEventId, this::notifyAccepted);
+    }
+
+    private void recordConnectionRequests(List<SendConnectionRequestEvent> sendConnectionRequestEvents){
+        List<NotificationDigester.Occurrence> requests = new ArrayList<>(sendConnectionRequestEvents.size());
+        for(SendConnectionRequestEvent sendConnectionRequestEvent: sendConnectionRequestEvents){
+            requests.add(new NotificationDigester.Occurrence(sendConnectionRequestEvent.getReceiverId(), NotificationType.CONNECTION_REQUEST,
+                    null, sendConnectionRequestEvent.getSenderId()));
+        }
+        notificationDigester.record(requests);
+    }
 
-        sendNotification.send(acceptConnectionRequestEvent.getSenderId(),message);
+    private void notifyAccepted(List<AcceptConnectionRequestEvent> acceptConnectionRequestEvents){
+        List<Notification> notifications = new ArrayList<>(acceptConnectionRequestEvents.size());
+        for(AcceptConnectionRequestEvent acceptConnectionRequestEvent: acceptConnectionRequestEvents){
+            String message = "You're connection request has been accepted by user with id:"+acceptConnectionRequestEvent.getReceiverId();
+            notifications.add(new Notification(acceptConnectionRequestEvent.getSenderId(), message));
+            connectionIdsCache.invalidate(acceptConnectionRequestEvent.getSenderId());
+            connectionIdsCache.invalidate(acceptConnectionRequestEvent.getReceiverId());
+        }
+        sendNotification.send(notifications);
     }
 }
@@ -0,0 +1,109 @@
+package com.divyansh.linkedin.notification_service.consumer;
+
+import com.divyansh.linkedin.notification_service.service.BackgroundConnectionBudget;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes a polled batch in parallel while keeping records for the same key in order, so
+ * throughput is no longer capped by the partition count. Records are grouped into one queue per
+ * key and each queue runs on its own virtual thread, as many at a time as the
+ * {@link BackgroundConnectionBudget} allows.
+ * <p>
+ * A failed queue fails the batch at its first record. The batch error handler then commits every
+ * record before the earliest failure, the highest contiguous completed offset, and redelivers the rest.
+ * Listeners using this must run on the ordered container factory, which retries the failed record in
+ * place rather than moving it to a retry topic, so the later records of its key can't overtake it.
+ */
+@Component
+@Slf4j
+public class KeyOrderedProcessor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BackgroundConnectionBudget connectionBudget;
+
+    public KeyOrderedProcessor(BackgroundConnectionBudget connectionBudget) {
+        this.connectionBudget = connectionBudget;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the handler once per key with that key's values in offset order and returns when all keys are done.
+     * Records whose value failed to deserialize are skipped.
+     */
+    public <V> void process(List<ConsumerRecord<Long, V>> records, Function<V, Object> keyOf, Consumer<List<V>> handler) {
+        Map<Object, List<Integer>> queues = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            V value = records.get(i).value();
+            if (value == null) continue;
+            queues.computeIfAbsent(keyOf.apply(value), key -> new ArrayList<>()).add(i);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(queues.size());
+        List<Integer> firstIndexes = new ArrayList<>(queues.size());
+        int failedIndex = Integer.MAX_VALUE;
+        Throwable failure = null;
+        for (List<Integer> indexes : queues.values()) {
+            List<V> values = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                values.add(records.get(index).value());
+            }
+            try {
+                connectionBudget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedIndex = indexes.getFirst();
+                failure = e;
+                break;
+            }
+            try {
+                futures.add(executor.submit(() -> {
+                    try {
+                        handler.accept(values);
+                    } finally {
+                        connectionBudget.release();
+                    }
+                }));
+                firstIndexes.add(indexes.getFirst());
+            } catch (RuntimeException e) {
+                connectionBudget.release();
+                throw e;
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException | InterruptedException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                if (firstIndexes.get(i) < failedIndex) {
+                    failedIndex = firstIndexes.get(i);
+                    failure = e instanceof ExecutionException ? e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            ConsumerRecord<Long, V> failed = records.get(failedIndex);
+            log.error("Failed processing {}-{}@{}", failed.topic(), failed.partition(), failed.offset(), failure);
+            throw new BatchListenerFailedException("Failed processing key " + keyOf.apply(failed.value()), failure, failedIndex);
+        }
+    }
+}
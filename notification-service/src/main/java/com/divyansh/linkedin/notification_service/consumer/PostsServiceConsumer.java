@@ -1,15 +1,19 @@
 package com.divyansh.linkedin.notification_service.consumer;
 
-import com.divyansh.linkedin.notification_service.clients.ConnectionsClient;
-import com.divyansh.linkedin.notification_service.dto.PersonDTO;
+import com.divyansh.linkedin.notification_service.config.KafkaRetryConfig;
+import com.divyansh.linkedin.notification_service.entity.NotificationType;
+import com.divyansh.linkedin.notification_service.service.EventDeduplicator;
+import com.divyansh.linkedin.notification_service.service.NotificationDigester;
+import com.divyansh.linkedin.notification_service.service.PostFanOutService;
 import com.divyansh.linkedin.posts_service.event.PostLikedEvent;
 import com.divyansh.linkedin.posts_service.event.PostCreatedEvent;
-import com.divyansh.linkedin.notification_service.service.SendNotification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -17,29 +21,37 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PostsServiceConsumer {
 
-    private final ConnectionsClient connectionsClient;
-    private final SendNotification sendNotification;
-
-    @KafkaListener(topics = "post-created-topic")
-    public void handlePostCreated(PostCreatedEvent postCreatedEvent){
-        log.info("Sending notifications: handlePostCreated: {}",postCreatedEvent);
-        List<PersonDTO> connections = connectionsClient.getFirstConnections(postCreatedEvent.getCreatorId());
-
-        for(PersonDTO connection: connections){
-            sendNotification.send(connection.getUserId(),"Your Connection "+postCreatedEvent.getCreatorId()
-                    +"has created a post, Check it out");
-
-        }
+    private final PostFanOutService postFanOutService;
+    private final NotificationDigester notificationDigester;
+    private final KeyOrderedProcessor keyOrderedProcessor;
+    private final EventDeduplicator eventDeduplicator;
 
+    @KafkaListener(id = PostFanOutService.LISTENER_ID, idIsGroup = false, topics = "post-created-topic")
+    public void handlePostCreated(List<PostCreatedEvent> postCreatedEvents){
+        log.info("Sending notifications: handlePostCreated: {} events", postCreatedEvents.size());
+        sendPostCreated(postCreatedEvents);
+    }
 
+    void sendPostCreated(List<PostCreatedEvent> postCreatedEvents){
+        eventDeduplicator.process(postCreatedEvents, PostCreatedEvent::getEventId, postFanOutService::enqueue);
     }
-    @KafkaListener(topics = "post-liked-topic")
-    public void handlePostLiked(PostLikedEvent postLikedEvent){
-        log.info("Sending notifications: handlePostLiked: {}",postLikedEvent);
-        String message = String.format("Your post ,%d has been liked by %d",postLikedEvent.getPostId(),postLikedEvent.getLikedByUserId());
 
-        sendNotification.send(postLikedEvent.getCreatorId(),message); ;
+    @KafkaListener(topics = "post-liked-topic", containerFactory = KafkaRetryConfig.ORDERED_CONTAINER_FACTORY)
+    public void handlePostLiked(List<ConsumerRecord<Long, PostLikedEvent>> records){
+        log.info("Sending notifications: handlePostLiked: {} events", records.size());
+        keyOrderedProcessor.process(records, PostLikedEvent::getCreatorId, this::sendPostLiked);
     }
 
+    void sendPostLiked(List<PostLikedEvent> postLikedEvents){
+        eventDeduplicator.process(postLikedEvents, PostLikedEvent::getEventId, this::recordLikes);
+    }
 
+    private void recordLikes(List<PostLikedEvent> postLikedEvents){
+        List<NotificationDigester.Occurrence> likes = new ArrayList<>(postLikedEvents.size());
+        for(PostLikedEvent postLikedEvent: postLikedEvents){
+            likes.add(new NotificationDigester.Occurrence(postLikedEvent.getCreatorId(), NotificationType.POST_LIKED,
+                    postLikedEvent.getPostId(), postLikedEvent.getLikedByUserId()));
+        }
+        notificationDigester.record(likes);
+    }
 }
@@ -0,0 +1,72 @@
+package com.divyansh.linkedin.notification_service.consumer;
+
+import com.divyansh.linkedin.connections_service.event.AcceptConnectionRequestEvent;
+import com.divyansh.linkedin.connections_service.event.SendConnectionRequestEvent;
+import com.divyansh.linkedin.notification_service.config.KafkaRetryConfig;
+import com.divyansh.linkedin.posts_service.event.PostCreatedEvent;
+import com.divyansh.linkedin.posts_service.event.PostLikedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redelivers events from the retry topics once their tier delay has passed. One listener per tier,
+ * so waiting on a long tier never holds back a shorter one; a failure here moves the event a tier up.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RetryTopicConsumer {
+
+    // pauses are capped so the container wakes up regularly even for the longest tier
+    private static final long MAX_PAUSE_MS = 30_000;
+
+    private final PostsServiceConsumer postsServiceConsumer;
+    private final ConnectionsServiceConsumer connectionsServiceConsumer;
+
+    @KafkaListener(id = "notification-retry-1", idIsGroup = false, containerFactory = "retryListenerContainerFactory",
+            topics = "#{T(com.divyansh.linkedin.notification_service.config.KafkaRetryConfig).retryTopics(1)}")
+    public void handleRetry1(ConsumerRecord<Long, Object> record, Acknowledgment acknowledgment){
+        retry(record, acknowledgment);
+    }
+
+    @KafkaListener(id = "notification-retry-2", idIsGroup = false, containerFactory = "retryListenerContainerFactory",
+            topics = "#{T(com.divyansh.linkedin.notification_service.config.KafkaRetryConfig).retryTopics(2)}")
+    public void handleRetry2(ConsumerRecord<Long, Object> record, Acknowledgment acknowledgment){
+        retry(record, acknowledgment);
+    }
+
+    @KafkaListener(id = "notification-retry-3", idIsGroup = false, containerFactory = "retryListenerContainerFactory",
+            topics = "#{T(com.divyansh.linkedin.notification_service.config.KafkaRetryConfig).retryTopics(3)}")
+    public void handleRetry3(ConsumerRecord<Long, Object> record, Acknowledgment acknowledgment){
+        retry(record, acknowledgment);
+    }
+
+    private void retry(ConsumerRecord<Long, Object> record, Acknowledgment acknowledgment){
+        Header dueAt = record.headers().lastHeader(KafkaRetryConfig.RETRY_DUE_AT_HEADER);
+        long wait = dueAt == null ? 0 : ByteBuffer.wrap(dueAt.value()).getLong() - System.currentTimeMillis();
+        if (wait > 0) {
+            // every record in a tier waits equally long, so nothing behind this one is due yet either
+            acknowledgment.nack(Duration.ofMillis(Math.min(wait, MAX_PAUSE_MS)));
+            return;
+        }
+
+        log.info("Retrying event from {}: {}", record.topic(), record.value());
+        switch (record.value()) {
+            case PostCreatedEvent event -> postsServiceConsumer.sendPostCreated(List.of(event));
+            case PostLikedEvent event -> postsServiceConsumer.sendPostLiked(List.of(event));
+            case SendConnectionRequestEvent event -> connectionsServiceConsumer.sendConnectionRequest(List.of(event));
+            case AcceptConnectionRequestEvent event -> connectionsServiceConsumer.acceptConnectionRequest(List.of(event));
+            case null, default -> throw new RuntimeException("Unexpected event on " + record.topic() + ": " + record.value());
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -0,0 +1,119 @@
+package com.divyansh.linkedin.notification_service.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.divyansh.linkedin.notification_service.config.KafkaRetryConfig.TIERS;
+import static com.divyansh.linkedin.notification_service.config.KafkaRetryConfig.dltTopics;
+import static com.divyansh.linkedin.notification_service.config.KafkaRetryConfig.retryTopics;
+import static com.divyansh.linkedin.notification_service.config.KafkaRetryConfig.sourceTopic;
+import static com.divyansh.linkedin.notification_service.config.KafkaRetryConfig.tierName;
+
+/**
+ * Counts events routed into each retry tier and periodically computes how many are parked there,
+ * i.e. the lag of the retry topics and the full contents of the dead-letter topics.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetryTopicMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final Map<String, AtomicLong> parked = new ConcurrentHashMap<>();
+    private Admin admin;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @PostConstruct
+    void init() {
+        for (String topic : parkingTopics()) {
+            parked.computeIfAbsent(tierName(topic), tier -> {
+                AtomicLong count = new AtomicLong();
+                Gauge.builder("notification.retry.parked", count, AtomicLong::get)
+                        .description("Events waiting in a retry tier or dead-letter topic")
+                        .tag("tier", tier)
+                        .register(meterRegistry);
+                return count;
+            });
+        }
+        admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+    }
+
+    @PreDestroy
+    void close() {
+        admin.close();
+    }
+
+    public void routed(String topic) {
+        meterRegistry.counter("notification.retry.routed", "tier", tierName(topic), "topic", sourceTopic(topic)).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.retry.metrics-interval-ms:30000}")
+    public void refreshParked() {
+        try {
+            List<String> topics = parkingTopics();
+            Map<String, TopicDescription> descriptions = admin.describeTopics(topics).allTopicNames().get(10, TimeUnit.SECONDS);
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            Map<TopicPartition, OffsetSpec> earliest = new HashMap<>();
+            descriptions.values().forEach(description -> description.partitions().forEach(partition -> {
+                TopicPartition topicPartition = new TopicPartition(description.name(), partition.partition());
+                latest.put(topicPartition, OffsetSpec.latest());
+                earliest.put(topicPartition, OffsetSpec.earliest());
+            }));
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = admin.listOffsets(latest).all().get(10, TimeUnit.SECONDS);
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> starts = admin.listOffsets(earliest).all().get(10, TimeUnit.SECONDS);
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS);
+
+            Map<String, Long> totals = new HashMap<>();
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end : ends.entrySet()) {
+                long start = starts.get(end.getKey()).offset();
+                OffsetAndMetadata position = committed.get(end.getKey());
+                // nothing consumes the dead-letter topics, so everything retained there is parked
+                long from = position == null ? start : Math.max(start, position.offset());
+                totals.merge(tierName(end.getKey().topic()), end.getValue().offset() - from, Long::sum);
+            }
+            parked.forEach((tier, count) -> count.set(totals.getOrDefault(tier, 0L)));
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Could not refresh parked retry counts", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> parkingTopics() {
+        List<String> topics = new ArrayList<>();
+        for (int tier = 1; tier <= TIERS; tier++) {
+            topics.addAll(Arrays.asList(retryTopics(tier)));
+        }
+        topics.addAll(Arrays.asList(dltTopics()));
+        return topics;
+    }
+}
@@ -0,0 +1,53 @@
+package com.divyansh.linkedin.notification_service.controller;
+
+import com.divyansh.linkedin.notification_service.auth.UserContextHolder;
+import com.divyansh.linkedin.notification_service.dto.NotificationPageDTO;
+import com.divyansh.linkedin.notification_service.service.NotificationPushHub;
+import com.divyansh.linkedin.notification_service.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/core")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NotificationPushHub notificationPushHub;
+
+    @GetMapping
+    public ResponseEntity<NotificationPageDTO> getNotifications(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int size){
+        return ResponseEntity.ok(notificationService.getNotifications(cursor, size));
+    }
+
+    @PutMapping("/{notificationId}/read")
+    public ResponseEntity<Void> markRead(@PathVariable Long notificationId){
+        notificationService.markRead(notificationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Void> markAllRead(){
+        notificationService.markAllRead();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(){
+        return notificationPushHub.subscribe(UserContextHolder.getCurrentUserId());
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> getUnreadCount(){
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
+}
@@ -0,0 +1,13 @@
+package com.divyansh.linkedin.notification_service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class NotificationDTO {
+    private Long id;
+    private String message;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
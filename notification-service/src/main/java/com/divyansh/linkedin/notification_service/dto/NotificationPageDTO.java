@@ -0,0 +1,14 @@
+package com.divyansh.linkedin.notification_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NotificationPageDTO {
+    private List<NotificationDTO> notifications;
+    // pass back as cursor to get the next page, null on the last page
+    private String nextCursor;
+}
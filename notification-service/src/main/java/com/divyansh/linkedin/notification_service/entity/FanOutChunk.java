@@ -0,0 +1,44 @@
+package com.divyansh.linkedin.notification_service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Marks one chunk of a fan-out as sent, by the range of recipient ids it covered. Saved in the same
+ * transaction as the chunk's notifications. Ranges rather than chunk positions, because the recipient
+ * list is fetched again on resume and may have changed since.
+ */
+@Entity
+@Table(name = "fan_out_sent_chunk")
+@IdClass(FanOutChunk.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanOutChunk {
+
+    @Id
+    private Long postId;
+
+    @Id
+    private Long firstUserId;
+
+    private Long lastUserId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long postId;
+        private Long firstUserId;
+    }
+}
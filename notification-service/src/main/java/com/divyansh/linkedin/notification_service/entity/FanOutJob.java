@@ -0,0 +1,41 @@
+package com.divyansh.linkedin.notification_service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post whose creator's connections still have to be notified. Written before the post-created
+ * offset is committed, so the fan-out survives a restart; completedAt is set once every chunk is sent.
+ * The instance running a fan-out holds a lease on it, so other replicas only resume it once the lease expires.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class FanOutJob {
+
+    @Id
+    private Long postId;
+
+    private Long creatorId;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    public FanOutJob(Long postId, Long creatorId) {
+        this.postId = postId;
+        this.creatorId = creatorId;
+    }
+}
@@ -1,27 +1,56 @@
 package com.divyansh.linkedin.notification_service.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+// range partitioned by month on created_at, see NotificationPartitionManager
 @Entity
 @Getter
 @Setter
+@NoArgsConstructor
 public class Notification {
 
+    // ids come from a pooled sequence so Hibernate can batch inserts, one sequence call per block
+    public static final String ID_SEQUENCE = "notification_seq";
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private Long userId;
     private String message;
 
+    // set on digest notifications, which stand for every actorCount events of one type on one subject
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+    private Long subjectId;
+    private Long actorId;
+
+    @ColumnDefault("1")
+    private int actorCount = 1;
+
+    @ColumnDefault("false")
+    private boolean read;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    public Notification(Long userId, String message) {
+        this.userId = userId;
+        this.message = message;
+    }
 }
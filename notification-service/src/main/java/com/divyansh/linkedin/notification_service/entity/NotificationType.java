@@ -0,0 +1,6 @@
+package com.divyansh.linkedin.notification_service.entity;
+
+public enum NotificationType {
+    POST_LIKED,
+    CONNECTION_REQUEST
+}
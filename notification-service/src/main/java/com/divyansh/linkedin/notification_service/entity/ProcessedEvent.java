@@ -0,0 +1,27 @@
+package com.divyansh.linkedin.notification_service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id of an event whose notifications were written. The primary key is the final guard against
+ * processing a redelivered event twice; rows are claimed in the same transaction as the notifications.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    private String eventId;
+
+    @CreationTimestamp
+    private LocalDateTime processedAt;
+}
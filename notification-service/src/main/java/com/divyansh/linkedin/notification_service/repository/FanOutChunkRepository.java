@@ -0,0 +1,22 @@
+package com.divyansh.linkedin.notification_service.repository;
+
+import com.divyansh.linkedin.notification_service.entity.FanOutChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface FanOutChunkRepository extends JpaRepository<FanOutChunk,FanOutChunk.Key> {
+
+    List<FanOutChunk> findByPostIdOrderByFirstUserId(Long postId);
+
+    // a plain insert rather than save(), so a chunk sent twice fails on the primary key instead of merging
+    @Modifying
+    @Query(value = "insert into fan_out_sent_chunk (post_id, first_user_id, last_user_id) values (:postId, :firstUserId, :lastUserId)", nativeQuery = true)
+    void insert(Long postId, long firstUserId, long lastUserId);
+
+    @Modifying
+    @Query("delete from FanOutChunk c where c.postId = :postId")
+    void deleteByPostId(Long postId);
+}
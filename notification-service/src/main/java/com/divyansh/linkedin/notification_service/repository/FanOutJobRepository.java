@@ -0,0 +1,31 @@
+package com.divyansh.linkedin.notification_service.repository;
+
+import com.divyansh.linkedin.notification_service.entity.FanOutJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FanOutJobRepository extends JpaRepository<FanOutJob,Long> {
+
+    List<FanOutJob> findByCompletedAtIsNull();
+
+    /**
+     * Takes or renews the lease on an unfinished job, unless another instance holds an unexpired one.
+     * @return 1 if this owner now holds the lease
+     */
+    @Modifying
+    @Query("update FanOutJob j set j.claimedBy = :owner, j.claimedUntil = :until where j.postId = :postId " +
+            "and j.completedAt is null and (j.claimedBy = :owner or j.claimedUntil is null or j.claimedUntil < :now)")
+    int claim(Long postId, String owner, LocalDateTime now, LocalDateTime until);
+
+    @Modifying
+    @Query("update FanOutJob j set j.completedAt = :completedAt where j.postId = :postId")
+    void markCompleted(Long postId, LocalDateTime completedAt);
+
+    @Modifying
+    @Query("delete from FanOutJob j where j.completedAt < :cutoff")
+    int deleteCompletedBefore(LocalDateTime cutoff);
+}
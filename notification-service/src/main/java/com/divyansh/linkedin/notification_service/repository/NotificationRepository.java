@@ -2,6 +2,40 @@ package com.divyansh.linkedin.notification_service.repository;
 
 import com.divyansh.linkedin.notification_service.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification,Long> {
+
+    @Query(value = "SELECT * FROM notification WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findLatest(Long userId, int limit);
+
+    // row value comparison, so the (user_id, created_at, id) index serves the page as a single range scan
+    @Query(value = "SELECT * FROM notification WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findOlderThan(Long userId, LocalDateTime createdAt, Long id, int limit);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    @Query("select n.userId as userId, count(n) as unread from Notification n " +
+            "where n.userId in :userIds and n.read = false group by n.userId")
+    List<UnreadCount> countUnread(Collection<Long> userIds);
+
+    @Modifying
+    @Query("update Notification n set n.read = true where n.id = :id and n.userId = :userId and n.read = false")
+    int markRead(Long id, Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.read = true where n.userId = :userId and n.read = false")
+    int markAllRead(Long userId);
+
+    interface UnreadCount {
+        Long getUserId();
+        long getUnread();
+    }
 }
@@ -0,0 +1,23 @@
+package com.divyansh.linkedin.notification_service.repository;
+
+import com.divyansh.linkedin.notification_service.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent,String> {
+
+    /**
+     * Inserts the ids that aren't there yet and returns exactly those.
+     */
+    @Query(value = "INSERT INTO processed_event (event_id, processed_at) SELECT id, now() FROM unnest(CAST(:eventIds AS text[])) AS id " +
+            "ON CONFLICT DO NOTHING RETURNING event_id", nativeQuery = true)
+    List<String> claim(String[] eventIds);
+
+    @Modifying
+    @Query("delete from ProcessedEvent e where e.processedAt < :cutoff")
+    int deleteProcessedBefore(LocalDateTime cutoff);
+}
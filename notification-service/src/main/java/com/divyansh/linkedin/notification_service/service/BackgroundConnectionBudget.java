@@ -0,0 +1,35 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Database connections the background work may hold at once. Post fan-out chunks and keyed
+ * consumer handlers share this one budget, so together they never take more than their part of the
+ * pool; the rest stays free for the listener threads, scheduled jobs and requests. Permits are
+ * handed out fairly, so a large fan-out can't starve the consumers.
+ */
+@Component
+public class BackgroundConnectionBudget {
+
+    private final Semaphore permits;
+
+    public BackgroundConnectionBudget(@Value("${notifications.background-connections:5}") int connections,
+                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        if (connections < 1 || connections >= poolSize) {
+            throw new IllegalStateException("notifications.background-connections must be between 1 and the pool size "
+                    + poolSize + " exclusive, got " + connections);
+        }
+        this.permits = new Semaphore(connections, true);
+    }
+
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
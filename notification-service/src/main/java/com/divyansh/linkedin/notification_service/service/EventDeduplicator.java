@@ -0,0 +1,112 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import com.divyansh.linkedin.notification_service.repository.ProcessedEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Drops redelivered events by their producer-stamped id before any notification is written.
+ * <p>
+ * Ids processed recently are remembered in a pair of rotating sets: new ids go into the current
+ * generation, and once it is full the previous one is discarded, so memory stays bounded while the
+ * last window-size to twice that many ids are always known. Anything older is caught by claiming
+ * the id in processed_event, in the same transaction as the notifications it produces.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventDeduplicator {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Set<String> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> previous = ConcurrentHashMap.newKeySet();
+
+    @Value("${notifications.dedupe.window-size:100000}")
+    private int windowSize;
+
+    @Value("${notifications.dedupe.retention:P7D}")
+    private Duration retention;
+
+    /**
+     * Runs the handler, in one transaction, on the events not processed before. Events without an id
+     * come from producers that don't stamp one yet and are always processed.
+     */
+    public <E> void process(List<E> events, Function<E, String> idOf, Consumer<List<E>> handler) {
+        List<E> candidates = new ArrayList<>(events.size());
+        Set<String> candidateIds = new HashSet<>();
+        for (E event : events) {
+            if (event == null) continue;
+            String eventId = idOf.apply(event);
+            if (eventId == null) {
+                candidates.add(event);
+            } else if (!seen(eventId) && candidateIds.add(eventId)) {
+                candidates.add(event);
+            }
+        }
+        int dropped = events.size() - candidates.size();
+        if (dropped > 0) log.info("Dropped {} duplicate events", dropped);
+        if (candidates.isEmpty()) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> claimed = candidateIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(processedEventRepository.claim(candidateIds.toArray(String[]::new)));
+            List<E> fresh = candidates.stream()
+                    .filter(event -> idOf.apply(event) == null || claimed.contains(idOf.apply(event)))
+                    .toList();
+            if (fresh.size() < candidates.size()) {
+                log.info("Dropped {} events already processed before", candidates.size() - fresh.size());
+            }
+            if (!fresh.isEmpty()) handler.accept(fresh);
+
+            // a rolled back batch gets redelivered, so only remember what was committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    candidateIds.forEach(EventDeduplicator.this::remember);
+                }
+            });
+        });
+    }
+
+    @Scheduled(cron = "${notifications.dedupe.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) log.info("Purged {} processed event ids", purged);
+    }
+
+    private boolean seen(String eventId) {
+        return current.contains(eventId) || previous.contains(eventId);
+    }
+
+    private void remember(String eventId) {
+        current.add(eventId);
+        if (current.size() >= windowSize) rotate();
+    }
+
+    private synchronized void rotate() {
+        if (current.size() < windowSize) return;
+        previous = current;
+        current = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,193 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import com.divyansh.linkedin.notification_service.entity.Notification;
+import com.divyansh.linkedin.notification_service.entity.NotificationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces likes and connection requests into one digest notification per (recipient, type, subject)
+ * and time window, e.g. "User 42 and 1,203 others liked your post 7". The first event of a window
+ * inserts the row, later events in the same window only bump its actor count and message, mark it
+ * unread again and push the updated digest to the recipient once committed.
+ * <p>
+ * Open windows are tracked in a bounded in-memory map. Counts live in the row and are updated
+ * relatively, so nothing is lost if a window is evicted or the service restarts; the next event
+ * merely opens a new digest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigester {
+
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+    private static final String DIGEST_ROW = "(?::bigint, ?::timestamp, ?::int, ?::bigint, ?::text, ?::text)";
+    // Updates the open digests of a batch in one statement. The rows are locked first, so old.read is the
+    // value this update replaces, and created_at lets each lookup go to a single monthly partition; the
+    // in-memory timestamp may be off by the rounding to microseconds, hence the range. The message is
+    // rebuilt from the new count in the same statement, SET sees the old actor_count.
+    private static final String UPDATE_DIGESTS = "WITH v (id, created_at, delta, actor_id, prefix, suffix) AS (VALUES %s), " +
+            "old AS (SELECT n.id, n.created_at, n.read FROM notification n JOIN v ON n.id = v.id " +
+            "AND n.created_at BETWEEN v.created_at - interval '1 second' AND v.created_at + interval '1 second' FOR UPDATE OF n) " +
+            "UPDATE notification n SET actor_count = n.actor_count + v.delta, actor_id = v.actor_id, read = false, " +
+            "message = v.prefix || CASE WHEN n.actor_count + v.delta = 2 THEN '1 other' " +
+            "ELSE to_char(n.actor_count + v.delta - 1, 'FM999,999,999,990') || ' others' END || v.suffix " +
+            "FROM v JOIN old ON old.id = v.id " +
+            "WHERE n.id = old.id AND n.created_at = old.created_at " +
+            "RETURNING n.id, n.user_id, n.message, n.created_at, old.read";
+
+    private final SendNotification sendNotification;
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadCounter unreadCounter;
+    private final NotificationPushHub notificationPushHub;
+    private final ConcurrentHashMap<Key, Window> openWindows = new ConcurrentHashMap<>();
+
+    @Value("${notifications.digest.window:PT1H}")
+    private Duration window;
+
+    @Value("${notifications.digest.max-open-windows:100000}")
+    private int maxOpenWindows;
+
+    public record Occurrence(Long userId, NotificationType type, Long subjectId, Long actorId) {}
+
+    private record Key(Long userId, NotificationType type, Long subjectId) {}
+
+    private record Window(Long notificationId, LocalDateTime createdAt, long expiresAt) {}
+
+    private record UpdatedDigest(Long id, Long userId, String message, LocalDateTime createdAt, boolean wasRead) {}
+
+    @Transactional
+    public void record(List<Occurrence> occurrences) {
+        Map<Key, List<Occurrence>> byKey = new LinkedHashMap<>();
+        for (Occurrence occurrence : occurrences) {
+            byKey.computeIfAbsent(new Key(occurrence.userId(), occurrence.type(), occurrence.subjectId()), key -> new ArrayList<>())
+                    .add(occurrence);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Key, Notification> opened = new LinkedHashMap<>();
+        Map<Long, Key> updatedKeys = new HashMap<>();
+        List<Object> updates = new ArrayList<>();
+        for (Map.Entry<Key, List<Occurrence>> entry : byKey.entrySet()) {
+            Key key = entry.getKey();
+            List<Occurrence> events = entry.getValue();
+            Long lastActor = events.getLast().actorId();
+            Window open = openWindows.get(key);
+            if (open != null && open.expiresAt() > now) {
+                updatedKeys.put(open.notificationId(), key);
+                updates.addAll(List.of(open.notificationId(), open.createdAt(), events.size(), lastActor, digestPrefix(lastActor), digestSuffix(key)));
+                continue;
+            }
+
+            Notification notification = new Notification(key.userId(),
+                    events.size() == 1 ? singleMessage(key, lastActor) : digestMessage(key, lastActor, events.size()));
+            notification.setType(key.type());
+            notification.setSubjectId(key.subjectId());
+            notification.setActorId(lastActor);
+            notification.setActorCount(events.size());
+            opened.put(key, notification);
+        }
+
+        sendNotification.send(new ArrayList<>(opened.values()));
+        List<UpdatedDigest> updated = updateDigests(updates);
+
+        // windows only open once their row is committed, a rolled back batch is redelivered and opens them again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long expiresAt = now + window.toMillis();
+                opened.forEach((key, notification) ->
+                        openWindows.put(key, new Window(notification.getId(), notification.getCreatedAt(), expiresAt)));
+                if (openWindows.size() > maxOpenWindows) evict();
+
+                for (UpdatedDigest digest : updated) {
+                    updatedKeys.remove(digest.id());
+                    // a digest the user had read is unread again
+                    if (digest.wasRead()) unreadCounter.add(digest.userId(), 1);
+                    Notification notification = new Notification(digest.userId(), digest.message());
+                    notification.setId(digest.id());
+                    notification.setCreatedAt(digest.createdAt());
+                    notificationPushHub.publish(digest.userId(), NotificationService.toDTO(notification));
+                }
+                // the row is gone, e.g. its partition was dropped, the next event opens a new digest
+                updatedKeys.values().forEach(openWindows::remove);
+            }
+        });
+    }
+
+    private List<UpdatedDigest> updateDigests(List<Object> updates) {
+        int columns = 6;
+        List<UpdatedDigest> updated = new ArrayList<>();
+        for (int from = 0; from < updates.size(); from += UPDATE_CHUNK_SIZE * columns) {
+            List<Object> chunk = updates.subList(from, Math.min(updates.size(), from + UPDATE_CHUNK_SIZE * columns));
+            String rows = String.join(", ", Collections.nCopies(chunk.size() / columns, DIGEST_ROW));
+            updated.addAll(jdbcTemplate.query(UPDATE_DIGESTS.formatted(rows), (rs, rowNum) -> new UpdatedDigest(rs.getLong(1),
+                    rs.getLong(2), rs.getString(3), rs.getObject(4, LocalDateTime.class), rs.getBoolean(5)), chunk.toArray()));
+        }
+        return updated;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.digest.sweep-interval-ms:60000}")
+    public void closeExpiredWindows() {
+        long now = System.currentTimeMillis();
+        openWindows.values().removeIf(open -> open.expiresAt() <= now);
+    }
+
+    /**
+     * Closes expired windows, then the oldest ones, until the map is back below 90% of its bound.
+     */
+    private synchronized void evict() {
+        if (openWindows.size() <= maxOpenWindows) return;
+        closeExpiredWindows();
+        int excess = openWindows.size() - (maxOpenWindows - maxOpenWindows / 10);
+        if (excess <= 0) return;
+        openWindows.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> openWindows.remove(entry.getKey(), entry.getValue()));
+        log.debug("Closed {} digest windows early, {} still open", excess, openWindows.size());
+    }
+
+    private static String singleMessage(Key key, Long actorId) {
+        return switch (key.type()) {
+            case POST_LIKED -> String.format("Your post ,%d has been liked by %d", key.subjectId(), actorId);
+            case CONNECTION_REQUEST -> "You have received a connection request from user with id:" + actorId;
+        };
+    }
+
+    private static String digestMessage(Key key, Long actorId, int actorCount) {
+        int others = actorCount - 1;
+        return digestPrefix(actorId) + (others == 1 ? "1 other" : String.format(Locale.US, "%,d others", others)) + digestSuffix(key);
+    }
+
+    private static String digestPrefix(Long actorId) {
+        return "User " + actorId + " and ";
+    }
+
+    private static String digestSuffix(Key key) {
+        return switch (key.type()) {
+            case POST_LIKED -> " liked your post " + key.subjectId();
+            case CONNECTION_REQUEST -> " sent you connection requests";
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the notification table range partitioned by month on created_at.
+ * <p>
+ * On startup, before any listener runs, a plain notification table (as created by Hibernate or by
+ * earlier versions) is converted: it is renamed and attached as the partition holding everything up to
+ * the next month, or dropped if empty. Monthly partitions are created a few months ahead, and
+ * retention detaches and drops whole partitions once all their rows are past the retention period,
+ * so expired notifications never go through row-by-row deletes and vacuum.
+ * <p>
+ * Postgres DDL is transactional, so the conversion and the partition creation each run in a single
+ * transaction holding an advisory lock: a crash half way rolls the conversion back, and replicas
+ * starting together take turns instead of racing on the rename and the new partitions.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPartitionManager {
+
+    private static final String TABLE = "notification";
+    private static final String LEGACY_PARTITION = "notification_legacy";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\((?:'([^']+)'|MAXVALUE)\\)");
+    private static final Pattern LOWER_BOUND = Pattern.compile("FROM \\((?:'([^']+)'|MINVALUE)\\)");
+    private static final String LOCK_PARTITIONS = "SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "_partitions'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private MultiGauge partitionSizes;
+
+    @Value("${notifications.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${notifications.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    private record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(LocalDateTime otherFrom, LocalDateTime otherTo) {
+            return (from == null || from.isBefore(otherTo)) && (to == null || otherFrom.isBefore(to));
+        }
+    }
+
+    @PostConstruct
+    void initialize() {
+        partitionSizes = MultiGauge.builder("notification.partition.size")
+                .description("Total size of a notification partition including its indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_PARTITIONS);
+            if (!isPartitioned()) convertToPartitioned();
+            createPartitionsAhead();
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_notification_user_created ON " + TABLE + " (user_id, created_at DESC, id DESC)");
+        });
+        refreshPartitionSizes();
+    }
+
+    @Scheduled(cron = "${notifications.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_PARTITIONS);
+            createPartitionsAhead();
+        });
+        dropExpiredPartitions();
+        refreshPartitionSizes();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.partitions.metrics-interval-ms:300000}")
+    public void refreshPartitionSizes() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.relname, pg_total_relation_size(c.oid) FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass", rs -> {
+            rows.add(MultiGauge.Row.of(Tags.of("partition", rs.getString(1)), rs.getLong(2)));
+        }, TABLE);
+        partitionSizes.register(rows, true);
+    }
+
+    private void createPartitionsAhead() {
+        List<Partition> existing = partitions();
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            LocalDateTime from = month.atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atStartOfDay();
+            if (existing.stream().anyMatch(partition -> partition.overlaps(from, to))) continue;
+            String name = TABLE + "_p" + month.format(PARTITION_SUFFIX);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Created notification partition {} for [{}, {})", name, from, to);
+        }
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths).atStartOfDay();
+        for (Partition partition : partitions()) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) continue;
+            // a concurrent detach only takes a SHARE UPDATE EXCLUSIVE lock on the parent, so inserts and reads
+            // carry on; it can't run in a transaction block, which holds as JdbcTemplate runs in autocommit here.
+            // One interrupted half way leaves the partition pending and has to be finalized instead.
+            String mode = isDetachPending(partition.name()) ? " FINALIZE" : " CONCURRENTLY";
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name() + mode);
+            jdbcTemplate.execute("DROP TABLE " + partition.name());
+            log.info("Dropped expired notification partition {} (rows before {})", partition.name(), partition.to());
+        }
+    }
+
+    private boolean isDetachPending(String partition) {
+        Boolean pending = jdbcTemplate.queryForObject("SELECT inhdetachpending FROM pg_inherits WHERE inhrelid = ?::regclass",
+                Boolean.class, partition);
+        return Boolean.TRUE.equals(pending);
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = ?::regclass", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    private void convertToPartitioned() {
+        LocalDateTime boundary = LocalDate.now().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+        log.info("Converting {} into a table partitioned by month, existing rows go into {}", TABLE, LEGACY_PARTITION);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+        jdbcTemplate.execute("ALTER INDEX IF EXISTS idx_notification_user_created RENAME TO " + LEGACY_PARTITION + "_user_created_idx");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("UPDATE " + LEGACY_PARTITION + " SET created_at = now() WHERE created_at IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN created_at SET NOT NULL");
+
+        // the partition key has to be part of the primary key, ids stay unique through the sequence
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_partitioned_pkey PRIMARY KEY (id, created_at)");
+
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + LEGACY_PARTITION + ")", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_PARTITION);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION +
+                    " FOR VALUES FROM (MINVALUE) TO ('" + boundary + "')");
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                (rs, rowNum) -> new Partition(rs.getString(1), bound(LOWER_BOUND, rs.getString(2)), bound(UPPER_BOUND, rs.getString(2))),
+                TABLE);
+    }
+
+    /**
+     * Parses one side of a range partition bound, null for MINVALUE/MAXVALUE or a default partition.
+     */
+    private static LocalDateTime bound(Pattern side, String expression) {
+        Matcher matcher = side.matcher(expression);
+        if (!matcher.find() || matcher.group(1) == null) return null;
+        return LocalDateTime.parse(matcher.group(1).replace(' ', 'T'));
+    }
+}
@@ -0,0 +1,161 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes new notifications to connected clients over Server-Sent Events.
+ * <p>
+ * Every connection gets a small bounded buffer drained by its own virtual thread, so a slow client
+ * never blocks publishers: when its buffer is full the connection is dropped and the client
+ * reconnects and catches up through the read API. Heartbeats keep idle connections open through
+ * proxies, and a connection that hasn't completed a write within the idle timeout is evicted.
+ */
+@Component
+@Slf4j
+public class NotificationPushHub {
+
+    private final ConcurrentHashMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    @Value("${notifications.push.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${notifications.push.idle-timeout:PT1M}")
+    private Duration idleTimeout;
+
+    @Value("${notifications.push.connection-timeout:PT30M}")
+    private Duration connectionTimeout;
+
+    public NotificationPushHub(MeterRegistry meterRegistry) {
+        Gauge.builder("notification.push.connections", connections, AtomicInteger::get)
+                .description("Open notification event streams")
+                .register(meterRegistry);
+        this.dropped = meterRegistry.counter("notification.push.dropped");
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+        Subscription subscription = new Subscription(userId, emitter);
+        subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscription));
+        // an initial comment commits the response, so the client sees the stream open right away
+        subscription.offer(new PushEvent(null, "connected"));
+        senders.execute(subscription::drain);
+        return emitter;
+    }
+
+    public void publish(Long userId, Object notification) {
+        Set<Subscription> userSubscriptions = subscriptions.get(userId);
+        if (userSubscriptions == null) return;
+        for (Subscription subscription : userSubscriptions) {
+            subscription.offer(new PushEvent("notification", notification));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long idleBefore = System.nanoTime() - idleTimeout.toNanos();
+        for (Set<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                if (subscription.lastWriteAt - idleBefore < 0) {
+                    subscription.close("idle");
+                } else {
+                    subscription.offer(new PushEvent(null, "heartbeat"));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> subscription.close("shutdown")));
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscription subscription) {
+        if (!subscription.removed.compareAndSet(false, true)) return;
+        subscriptions.computeIfPresent(subscription.userId, (userId, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+        connections.decrementAndGet();
+    }
+
+    /**
+     * A named event, or an SSE comment when name is null.
+     */
+    private record PushEvent(String name, Object data) {}
+
+    private class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<PushEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile long lastWriteAt = System.nanoTime();
+
+        Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(PushEvent event) {
+            if (removed.get()) return;
+            if (!buffer.offer(event)) {
+                dropped.increment();
+                close("slow consumer");
+            }
+        }
+
+        void close(String reason) {
+            log.debug("Closing notification stream of user {}: {}", userId, reason);
+            remove(this);
+            emitter.complete();
+        }
+
+        void drain() {
+            try {
+                while (!removed.get()) {
+                    PushEvent event = buffer.poll(1, TimeUnit.SECONDS);
+                    if (event == null) continue;
+                    emitter.send(event.name() == null
+                            ? SseEmitter.event().comment(event.data().toString())
+                            : SseEmitter.event().name(event.name()).data(event.data()));
+                    lastWriteAt = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Notification stream of user {} failed: {}", userId, e.getMessage());
+                remove(this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import com.divyansh.linkedin.notification_service.auth.UserContextHolder;
+import com.divyansh.linkedin.notification_service.dto.NotificationDTO;
+import com.divyansh.linkedin.notification_service.dto.NotificationPageDTO;
+import com.divyansh.linkedin.notification_service.entity.Notification;
+import com.divyansh.linkedin.notification_service.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounter unreadCounter;
+
+    /**
+     * Returns the user's notifications newest first, one keyset page at a time.
+     * The cursor encodes the (createdAt, id) of the last notification of the previous page.
+     */
+    public NotificationPageDTO getNotifications(String cursor, int size) {
+        Long userId = UserContextHolder.getCurrentUserId();
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Notification> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = notificationRepository.findLatest(userId, size + 1);
+        } else {
+            String[] position = decodeCursor(cursor);
+            notifications = notificationRepository.findOlderThan(userId, LocalDateTime.parse(position[0]), Long.valueOf(position[1]), size + 1);
+        }
+
+        // one extra row tells whether there is a next page without a count query
+        boolean hasMore = notifications.size() > size;
+        if (hasMore) notifications = notifications.subList(0, size);
+        Notification last = notifications.isEmpty() ? null : notifications.getLast();
+        return NotificationPageDTO.builder()
+                .notifications(notifications.stream().map(NotificationService::toDTO).toList())
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .build();
+    }
+
+    @Transactional
+    public void markRead(Long notificationId) {
+        Long userId = UserContextHolder.getCurrentUserId();
+        if (notificationRepository.markRead(notificationId, userId) > 0) {
+            unreadCounter.add(userId, -1);
+        }
+    }
+
+    @Transactional
+    public void markAllRead() {
+        Long userId = UserContextHolder.getCurrentUserId();
+        int marked = notificationRepository.markAllRead(userId);
+        log.info("Marked {} notifications of user {} as read", marked, userId);
+        unreadCounter.clear(userId);
+    }
+
+    public long getUnreadCount() {
+        return unreadCounter.get(UserContextHolder.getCurrentUserId());
+    }
+
+    static NotificationDTO toDTO(Notification notification) {
+        NotificationDTO notificationDTO = new NotificationDTO();
+        notificationDTO.setId(notification.getId());
+        notificationDTO.setMessage(notification.getMessage());
+        notificationDTO.setRead(notification.isRead());
+        notificationDTO.setCreatedAt(notification.getCreatedAt());
+        return notificationDTO;
+    }
+
+    private static String encodeCursor(Notification notification) {
+        String position = notification.getCreatedAt() + "_" + notification.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (position.length != 2) throw new IllegalArgumentException();
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import com.divyansh.linkedin.notification_service.clients.ConnectionIdsCache;
+import com.divyansh.linkedin.notification_service.entity.FanOutChunk;
+import com.divyansh.linkedin.notification_service.entity.FanOutJob;
+import com.divyansh.linkedin.notification_service.entity.Notification;
+import com.divyansh.linkedin.notification_service.repository.FanOutChunkRepository;
+import com.divyansh.linkedin.notification_service.repository.FanOutJobRepository;
+import com.divyansh.linkedin.posts_service.event.PostCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends post-created notifications to every first-degree connection of the creator.
+ * The listener only records a job per post; the fan-out itself runs off the listener thread on
+ * virtual threads, split into chunks whose concurrency is capped by the {@link BackgroundConnectionBudget}. Every
+ * chunk commits its notifications together with the range of recipient ids it covered, so a fan-out
+ * interrupted by a crash resumes with the connections that weren't notified yet, even if the creator's
+ * connections changed in between. Connections made inside an already sent range are not notified.
+ * <p>
+ * A job is run by whichever instance holds its lease; the lease is renewed with every chunk and
+ * other replicas only resume the job once it has expired.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostFanOutService {
+
+    public static final String LISTENER_ID = "post-created";
+
+    private final ConnectionIdsCache connectionIdsCache;
+    private final SendNotification sendNotification;
+    private final FanOutJobRepository fanOutJobRepository;
+    private final FanOutChunkRepository fanOutChunkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final BackgroundConnectionBudget connectionBudget;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> pendingPosts = ConcurrentHashMap.newKeySet();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${notifications.fan-out.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notifications.fan-out.max-pending-posts:50}")
+    private int maxPendingPosts;
+
+    @Value("${notifications.fan-out.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${notifications.fan-out.retention:P7D}")
+    private Duration retention;
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Records a fan-out job for every post not seen before and starts it. Once this returns the
+     * jobs are durable, so the caller's offsets can be committed.
+     */
+    public void enqueue(List<PostCreatedEvent> events) {
+        Map<Long, FanOutJob> jobs = new LinkedHashMap<>();
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(lease);
+        for (PostCreatedEvent event : events) {
+            if (event == null) continue;
+            FanOutJob job = new FanOutJob(event.getPostId(), event.getCreatorId());
+            job.setClaimedBy(instanceId);
+            job.setClaimedUntil(leaseUntil);
+            jobs.putIfAbsent(event.getPostId(), job);
+        }
+        if (jobs.isEmpty()) return;
+
+        fanOutJobRepository.findAllById(jobs.keySet()).forEach(existing -> jobs.remove(existing.getPostId()));
+        fanOutJobRepository.saveAll(jobs.values());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // inside a caller's transaction the jobs only exist once it commits
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    jobs.values().forEach(PostFanOutService.this::submit);
+                }
+            });
+        } else {
+            jobs.values().forEach(this::submit);
+        }
+
+        if (pendingPosts.size() >= maxPendingPosts) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+            if (container != null && !container.isPauseRequested()) {
+                log.info("Pausing {} listener, {} post fan-outs pending", LISTENER_ID, pendingPosts.size());
+                container.pause();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.fan-out.resume-interval-ms:30000}")
+    public void resumeUnfinished() {
+        for (FanOutJob job : fanOutJobRepository.findByCompletedAtIsNull()) {
+            if (pendingPosts.contains(job.getPostId())) continue;
+            if (claim(job.getPostId())) submit(job);
+        }
+    }
+
+    @Scheduled(cron = "${notifications.fan-out.purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeCompleted() {
+        int purged = fanOutJobRepository.deleteCompletedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) log.info("Purged {} completed fan-out jobs", purged);
+    }
+
+    private void submit(FanOutJob job) {
+        if (!pendingPosts.add(job.getPostId())) return;
+        executor.execute(() -> {
+            try {
+                fanOut(job);
+            } catch (RuntimeException e) {
+                log.error("Fan-out of post {} failed, it will be resumed", job.getPostId(), e);
+            } finally {
+                pendingPosts.remove(job.getPostId());
+                resumeListenerIfDrained();
+            }
+        });
+    }
+
+    private boolean claim(Long postId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> fanOutJobRepository.claim(postId, instanceId, now, now.plus(lease)));
+        return claimed != null && claimed > 0;
+    }
+
+    private void fanOut(FanOutJob job) {
+        long[] userIds = connectionIdsCache.getFirstConnectionIds(job.getCreatorId());
+        List<FanOutChunk> sentChunks = fanOutChunkRepository.findByPostIdOrderByFirstUserId(job.getPostId());
+        List<long[]> chunks = unsentChunks(userIds, sentChunks);
+        String message = "Your Connection "+job.getCreatorId()+"has created a post, Check it out";
+
+        List<Future<?>> futures = new ArrayList<>();
+        RuntimeException failure = null;
+        try {
+            for (long[] chunk : chunks) {
+                connectionBudget.acquire();
+                try {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            sendChunk(job.getPostId(), message, chunk);
+                        } finally {
+                            connectionBudget.release();
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    connectionBudget.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new RuntimeException("Fan-out of post " + job.getPostId() + " interrupted");
+        }
+
+        // wait for every started chunk, even after a failure, so a resumed job never overlaps this one
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = new RuntimeException("Fan-out chunk of post " + job.getPostId() + " failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new RuntimeException("Fan-out of post " + job.getPostId() + " interrupted");
+            }
+        }
+        if (failure != null) throw failure;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            fanOutJobRepository.markCompleted(job.getPostId(), LocalDateTime.now());
+            fanOutChunkRepository.deleteByPostId(job.getPostId());
+        });
+        log.info("Notified {} connections of post {} in {} chunks, {} chunks already sent before",
+                userIds.length, job.getPostId(), chunks.size(), sentChunks.size());
+    }
+
+    /**
+     * Splits the sorted recipient ids into chunks, leaving out every id inside a range that was already
+     * sent. New chunks never span a sent range, so the recorded ranges stay disjoint.
+     */
+    private List<long[]> unsentChunks(long[] userIds, List<FanOutChunk> sentChunks) {
+        List<long[]> chunks = new ArrayList<>();
+        long[] buffer = new long[chunkSize];
+        int size = 0;
+        int sent = 0;
+        for (long userId : userIds) {
+            boolean crossedSentRange = false;
+            while (sent < sentChunks.size() && sentChunks.get(sent).getLastUserId() < userId) {
+                sent++;
+                crossedSentRange = true;
+            }
+            if (sent < sentChunks.size() && sentChunks.get(sent).getFirstUserId() <= userId) continue;
+            if (size > 0 && (size == chunkSize || crossedSentRange)) {
+                chunks.add(Arrays.copyOf(buffer, size));
+                size = 0;
+            }
+            buffer[size++] = userId;
+        }
+        if (size > 0) chunks.add(Arrays.copyOf(buffer, size));
+        return chunks;
+    }
+
+    private void sendChunk(Long postId, String message, long[] userIds) {
+        List<Notification> notifications = new ArrayList<>(userIds.length);
+        for (long userId : userIds) {
+            notifications.add(new Notification(userId, message));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (fanOutJobRepository.claim(postId, instanceId, now, now.plus(lease)) == 0) {
+                throw new IllegalStateException("Lost the lease on the fan-out of post " + postId);
+            }
+            fanOutChunkRepository.insert(postId, userIds[0], userIds[userIds.length - 1]);
+            sendNotification.send(notifications);
+        });
+    }
+
+    private void resumeListenerIfDrained() {
+        if (pendingPosts.size() > maxPendingPosts / 2) return;
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (container != null && container.isPauseRequested()) {
+            log.info("Resuming {} listener, {} post fan-outs pending", LISTENER_ID, pendingPosts.size());
+            container.resume();
+        }
+    }
+}
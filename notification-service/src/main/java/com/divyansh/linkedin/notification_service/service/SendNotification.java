@@ -2,22 +2,58 @@ package com.divyansh.linkedin.notification_service.service;
 
 import com.divyansh.linkedin.notification_service.entity.Notification;
 import com.divyansh.linkedin.notification_service.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class SendNotification {
 
     private final NotificationRepository notificationRepository;
+    private final EntityManager entityManager;
+    private final UnreadCounter unreadCounter;
+    private final NotificationPushHub notificationPushHub;
 
-    public void send(Long userId, String message){
-        Notification notification = new Notification();
-        notification.setMessage(message);
-        notification.setUserId(userId);
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
 
-        notificationRepository.save(notification);
+    /**
+     * Persists all notifications in one transaction as JDBC batches, flushing and clearing
+     * the persistence context per batch so a large fan-out doesn't pile up managed entities.
+     */
+    @Transactional
+    public void send(List<Notification> notifications){
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            notificationRepository.saveAll(notifications.subList(from, Math.min(from + batchSize, notifications.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        afterCommit(notifications);
+    }
 
+    private void afterCommit(List<Notification> notifications){
+        Map<Long, Long> perUser = new HashMap<>();
+        for (Notification notification : notifications) {
+            perUser.merge(notification.getUserId(), 1L, Long::sum);
+        }
+        // the caller's transaction may still roll back, so only count and push what was committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                perUser.forEach(unreadCounter::add);
+                for (Notification notification : notifications) {
+                    notificationPushHub.publish(notification.getUserId(), NotificationService.toDTO(notification));
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,86 @@
+package com.divyansh.linkedin.notification_service.service;
+
+import com.divyansh.linkedin.notification_service.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unread notification counts for users who recently asked for theirs, kept in striped LongAdders
+ * so the badge poll never touches the database. A user's count is loaded on first read and then
+ * maintained by writes on this instance; a periodic reconciliation corrects drift from other
+ * instances and rolled back writes, and drops users who stopped polling.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounter {
+
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread.idle-ttl:PT30M}")
+    private Duration idleTtl;
+
+    public long get(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter == null) {
+            Counter loaded = new Counter();
+            loaded.count.add(notificationRepository.countByUserIdAndReadFalse(userId));
+            counter = counters.merge(userId, loaded, (current, ignored) -> current);
+        }
+        counter.lastReadAt = System.nanoTime();
+        return Math.max(0, counter.count.sum());
+    }
+
+    /**
+     * Counts new notifications. Users nobody is polling for are skipped, their count is loaded on first read.
+     */
+    public void add(Long userId, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter != null) counter.count.add(delta);
+    }
+
+    public void clear(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) counter.count.reset();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long idleBefore = System.nanoTime() - idleTtl.toNanos();
+        counters.entrySet().removeIf(entry -> entry.getValue().lastReadAt - idleBefore < 0);
+
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<Long, Long> unread = new HashMap<>();
+            notificationRepository.countUnread(batch).forEach(count -> unread.put(count.getUserId(), count.getUnread()));
+            for (Long userId : batch) {
+                Counter counter = counters.get(userId);
+                if (counter == null) continue;
+                // users missing from the result have nothing unread
+                counter.count.reset();
+                counter.count.add(unread.getOrDefault(userId, 0L));
+            }
+        }
+        log.debug("Reconciled unread counts of {} users", userIds.size());
+    }
+
+    private static class Counter {
+        private final LongAdder count = new LongAdder();
+        private volatile long lastReadAt = System.nanoTime();
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 
 @Data
 public class PostCreatedEvent {
+    String eventId;
+
     Long creatorId;
 
     String content;
@@ -5,6 +5,8 @@ import lombok.Data;
 
 @Data
 public class PostLikedEvent {
+    String eventId;
+
     Long postId;
     Long creatorId;
     Long likedByUserId;
@@ -0,0 +1,144 @@
+package com.divyansh.linkedin.notification_service.consumer;
+
+import com.divyansh.linkedin.notification_service.service.BackgroundConnectionBudget;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyOrderedProcessorTest {
+
+    private static final String TOPIC = "post-liked-topic";
+
+    private final KeyOrderedProcessor processor = new KeyOrderedProcessor(new BackgroundConnectionBudget(2, 10));
+    private final FakeHandler handler = new FakeHandler();
+
+    @AfterEach
+    void shutdown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void keepsKeyOrderWhenARecordFailsAndIsRedelivered() {
+        List<ConsumerRecord<Long, Event>> batch = records(0,
+                new Event(1, 1), new Event(2, 1), new Event(1, 2), new Event(2, 2), new Event(1, 3), new Event(3, 1));
+        handler.failOnce(new Event(1, 2));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> processor.process(batch, Event::key, handler));
+        // the batch fails at the key's first record, so nothing of key 1 is committed ahead of the failed one
+        assertEquals(0, failure.getIndex());
+        assertEquals(List.of(), handler.committed(1));
+        assertEquals(List.of(1, 2), handler.committed(2));
+
+        // the error handler redelivers from the failed index, then the next poll follows
+        processor.process(batch.subList(failure.getIndex(), batch.size()), Event::key, handler);
+        processor.process(records(6, new Event(1, 4), new Event(2, 3)), Event::key, handler);
+
+        assertEquals(List.of(1, 2, 3, 4), handler.committed(1));
+        assertEquals(List.of(1, 2, 3), handler.committed(2));
+        assertEquals(List.of(1), handler.committed(3));
+    }
+
+    @Test
+    void failsAtTheEarliestFailedKey() {
+        List<ConsumerRecord<Long, Event>> batch = records(0,
+                new Event(1, 1), new Event(2, 1), new Event(3, 1), new Event(2, 2));
+        handler.failOnce(new Event(3, 1));
+        handler.failOnce(new Event(2, 2));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> processor.process(batch, Event::key, handler));
+        assertEquals(1, failure.getIndex());
+        assertEquals(List.of(1), handler.committed(1));
+    }
+
+    @Test
+    void skipsRecordsThatFailedToDeserialize() {
+        List<ConsumerRecord<Long, Event>> batch = new ArrayList<>(records(0, new Event(1, 1)));
+        batch.add(new ConsumerRecord<>(TOPIC, 0, 1, null, null));
+        batch.addAll(records(2, new Event(1, 2)));
+
+        processor.process(batch, Event::key, handler);
+
+        assertEquals(List.of(1, 2), handler.committed(1));
+    }
+
+    @Test
+    void holdsNoMoreKeysThanTheConnectionBudget() {
+        List<Event> events = new ArrayList<>();
+        for (int key = 1; key <= 20; key++) events.add(new Event(key, 1));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        processor.process(records(0, events.toArray(Event[]::new)), Event::key, values -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        });
+
+        assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " keys at once");
+    }
+
+    private static List<ConsumerRecord<Long, Event>> records(long firstOffset, Event... events) {
+        List<ConsumerRecord<Long, Event>> records = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            records.add(new ConsumerRecord<>(TOPIC, 0, firstOffset + i, events[i].key(), events[i]));
+        }
+        return records;
+    }
+
+    private record Event(long key, int sequence) {
+    }
+
+    /**
+     * Commits a key's values all or nothing, like the transactional handlers, and drops values it
+     * already committed, like the event deduplicator does on redelivery.
+     */
+    private static class FakeHandler implements Consumer<List<Event>> {
+
+        private final Map<Long, List<Integer>> committed = new ConcurrentHashMap<>();
+        private final Set<Event> failOnce = ConcurrentHashMap.newKeySet();
+
+        void failOnce(Event event) {
+            failOnce.add(event);
+        }
+
+        List<Integer> committed(long key) {
+            return List.copyOf(committed.getOrDefault(key, List.of()));
+        }
+
+        @Override
+        public void accept(List<Event> events) {
+            List<Integer> pending = new ArrayList<>();
+            long key = events.getFirst().key();
+            List<Integer> done = committed.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+            for (Event event : events) {
+                assertEquals(key, event.key());
+                if (failOnce.remove(event)) throw new IllegalStateException("Failed " + event);
+                if (done.contains(event.sequence())) continue;
+                int last = pending.isEmpty() ? (done.isEmpty() ? 0 : done.getLast()) : pending.getLast();
+                assertTrue(event.sequence() > last, "key " + key + " saw " + event.sequence() + " after " + last);
+                pending.add(event.sequence());
+            }
+            done.addAll(pending);
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package com.divyansh.linkedin.posts_service.auth;
 
+import java.util.function.Supplier;
+
+/**
+ * The id of the user a request is served for, as sent by the gateway in X-User-Id.
+ * It is bound for the duration of a call, the way a ScopedValue is: nothing sets or clears it directly,
+ * so a thread that is reused, pooled or virtual, never sees the previous task's user.
+ * It is kept in a ThreadLocal because ScopedValue is still a preview API on Java 21.
+ */
 public class UserContextHolder {
     private static final ThreadLocal<Long> currentUserId = new ThreadLocal<>();
 
@@ -7,12 +15,35 @@ public class UserContextHolder {
         return currentUserId.get();
     }
 
-    static void setCurrentUserId(Long userId){
-        currentUserId.set(userId);
+    public static void runWithUserId(Long userId, Runnable task){
+        try (Scope ignored = bind(userId)) {
+            task.run();
+        }
+    }
+
+    public static <T> T callWithUserId(Long userId, Supplier<T> task){
+        try (Scope ignored = bind(userId)) {
+            return task.get();
+        }
+    }
+
+    static Scope bind(Long userId){
+        Long previous = currentUserId.get();
+        set(userId);
+        return () -> set(previous);
+    }
+
+    private static void set(Long userId){
+        if (userId == null) {
+            currentUserId.remove();
+        } else {
+            currentUserId.set(userId);
+        }
     }
 
-    static void clear(){
-        currentUserId.remove();
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
     }
 
 }
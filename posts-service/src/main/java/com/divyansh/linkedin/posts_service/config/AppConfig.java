@@ -1,14 +0,0 @@
-package com.divyansh.linkedin.posts_service.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class AppConfig {
-
-    @Bean
-    public ModelMapper ModelMapper(){
-        return new ModelMapper();
-    }
-}
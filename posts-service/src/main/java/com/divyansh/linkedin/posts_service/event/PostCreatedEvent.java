@@ -3,9 +3,15 @@ package com.divyansh.linkedin.posts_service.event;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 @Builder
 public class PostCreatedEvent {
+    // lets consumers drop redeliveries of the same event
+    @Builder.Default
+    String eventId = UUID.randomUUID().toString();
+
     Long creatorId;
 
     String content;
@@ -0,0 +1,47 @@
+package com.divyansh.linkedin.posts_service.mapper;
+
+import com.divyansh.linkedin.posts_service.dto.PostCreateRequestDTO;
+import com.divyansh.linkedin.posts_service.dto.PostDTO;
+import com.divyansh.linkedin.posts_service.entity.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Post conversions written out field by field, with no reflection or type map lookups per call.
+ * A field added to Post or PostDTO has to be added here as well.
+ */
+public class PostMapper {
+
+    public static PostDTO toDTO(Post post){
+        PostDTO postDTO = new PostDTO();
+        postDTO.setId(post.getId());
+        postDTO.setContent(post.getContent());
+        postDTO.setUserId(post.getUserId());
+        postDTO.setCreatedAt(post.getCreatedAt());
+        return postDTO;
+    }
+
+    public static List<PostDTO> toDTOs(List<Post> posts){
+        List<PostDTO> postDTOs = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            postDTOs.add(toDTO(post));
+        }
+        return postDTOs;
+    }
+
+    public static Post toEntity(PostDTO postDTO){
+        Post post = new Post();
+        post.setId(postDTO.getId());
+        post.setContent(postDTO.getContent());
+        post.setUserId(postDTO.getUserId());
+        post.setCreatedAt(postDTO.getCreatedAt());
+        return post;
+    }
+
+    public static Post toEntity(PostCreateRequestDTO postCreateRequestDTO){
+        Post post = new Post();
+        post.setContent(postCreateRequestDTO.getContent());
+        return post;
+    }
+}
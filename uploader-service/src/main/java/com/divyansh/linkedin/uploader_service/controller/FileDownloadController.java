@@ -0,0 +1,161 @@
+package com.divyansh.linkedin.uploader_service.controller;
+
+import com.divyansh.linkedin.uploader_service.service.ImageVariantService;
+import com.divyansh.linkedin.uploader_service.service.ImageVariantService.VariantFile;
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService;
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves files stored by the local disk backend. Tomcat's sendfile hands the bytes to the kernel
+ * when the connector supports it; otherwise the file is copied with FileChannel.transferTo.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/file")
+@ConditionalOnProperty(name = "uploader.storage", havingValue = "local")
+public class FileDownloadController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalDiskFileUploadService localDiskFileUploadService;
+    private final ImageVariantService imageVariantService;
+
+    @GetMapping("/{hash:[0-9a-f]{64}}")
+    public void download(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(localDiskFileUploadService.find(hash), hash, request, response);
+    }
+
+    /**
+     * Serves a resized image, variant is thumbnail, feed, full or the size of the bounding square in pixels.
+     * Variants are copied from a channel opened up front rather than with sendfile, which would open the
+     * file by name only after this returns, when a cached variant may already have been evicted.
+     */
+    @GetMapping("/{hash:[0-9a-f]{64}}/variants/{variant}")
+    public void downloadVariant(@PathVariable String hash, @PathVariable String variant,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<VariantFile> found = imageVariantService.openVariant(hash, variant);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try (VariantFile file = found.get()) {
+            long[] range = prepare(file.channel().size(), file.contentType(), hash + "-" + variant, request, response);
+            if (range != null) transfer(file.channel(), range[0], range[1], response);
+        }
+    }
+
+    private void serve(Optional<StoredFile> found, String tag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StoredFile file = found.get();
+        long[] range = prepare(file.size(), file.contentType(), tag, request, response);
+        if (range == null) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, range[0]);
+            request.setAttribute(SENDFILE_END, range[1] + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path())) {
+            transfer(channel, range[0], range[1], response);
+        }
+    }
+
+    /**
+     * Writes the headers and resolves the requested range.
+     * @return the first and last byte to send, or null if the response is already complete
+     */
+    private long[] prepare(long size, String contentType, String tag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + tag + "\"";
+
+        // content addressed files never change
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return null;
+        }
+        // the type is whatever the uploader claimed, so browsers must not sniff it or render anything but images inline
+        response.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (!isInlineImage(contentType)) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // multiple ranges are answered with the whole file, which the spec allows
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.getFirst();
+                try {
+                    start = range.getRangeStart(size);
+                    end = range.getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    start = size;
+                }
+                if (start >= size || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return null;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        return length == 0 ? null : new long[]{start, end};
+    }
+
+    // SVG can carry scripts, so it is downloaded like any other document
+    private static boolean isInlineImage(String contentType) {
+        if (contentType == null) return false;
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return "image".equals(mediaType.getType()) && !"svg+xml".equals(mediaType.getSubtype());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(FileChannel channel, long start, long end, HttpServletResponse response) throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        while (position <= end) {
+            position += channel.transferTo(position, end + 1 - position, out);
+        }
+    }
+}
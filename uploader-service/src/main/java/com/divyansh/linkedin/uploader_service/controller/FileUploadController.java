@@ -1,7 +1,9 @@
 package com.divyansh.linkedin.uploader_service.controller;
 
 import com.divyansh.linkedin.uploader_service.service.FileUploaderService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,12 +22,23 @@ public class FileUploadController {
     private final FileUploaderService fileUploaderService;
 
     @PostMapping
-    public ResponseEntity<String> uploadImage(@RequestParam MultipartFile file){
-        try {
-            String url = fileUploaderService.upload(file);
+    public ResponseEntity<String> uploadImage(@RequestParam MultipartFile file) throws IOException {
+        String url = fileUploaderService.upload(file);
+        return ResponseEntity.ok(url);
+    }
+
+    /**
+     * Uploads the raw request body, streamed straight to the storage backend without multipart spooling.
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<String> uploadStream(HttpServletRequest request) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            return ResponseEntity.status(411).body("Content-Length is required");
+        }
+        try (InputStream inputStream = request.getInputStream()) {
+            String url = fileUploaderService.upload(inputStream, contentLength, request.getContentType());
             return ResponseEntity.ok(url);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
     }
 }
@@ -0,0 +1,74 @@
+package com.divyansh.linkedin.uploader_service.controller;
+
+import com.divyansh.linkedin.uploader_service.dto.UploadJobDTO;
+import com.divyansh.linkedin.uploader_service.exception.BadRequestException;
+import com.divyansh.linkedin.uploader_service.service.UploadJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous uploads: the request returns 202 with a job id once the bytes are staged locally,
+ * and the client polls the job, optionally waiting for it to finish, to get the final URL.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/file/jobs")
+public class UploadJobController {
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(25);
+
+    private final UploadJobService uploadJobService;
+
+    @PostMapping
+    public ResponseEntity<UploadJobDTO> uploadImage(@RequestParam MultipartFile file) throws IOException {
+        return accepted(uploadJobService.submit(file));
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadJobDTO> uploadStream(HttpServletRequest request) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            throw new BadRequestException("Content-Length is required");
+        }
+        try (InputStream inputStream = request.getInputStream()) {
+            return accepted(uploadJobService.submit(inputStream, contentLength, request.getContentType()));
+        }
+    }
+
+    /**
+     * Returns the job state. With waitSeconds the response is held, without a servlet thread, until the job finishes.
+     */
+    @GetMapping("/{jobId}")
+    public CompletableFuture<UploadJobDTO> getJob(@PathVariable String jobId,
+                                                  @RequestParam(defaultValue = "0") int waitSeconds) {
+        if (waitSeconds <= 0) {
+            return CompletableFuture.completedFuture(uploadJobService.getJob(jobId));
+        }
+        Duration wait = Duration.ofSeconds(waitSeconds);
+        return uploadJobService.awaitJob(jobId, wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait);
+    }
+
+    static ResponseEntity<UploadJobDTO> accepted(UploadJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/file/jobs/{jobId}")
+                        .buildAndExpand(job.getJobId())
+                        .toUri())
+                .body(job);
+    }
+}
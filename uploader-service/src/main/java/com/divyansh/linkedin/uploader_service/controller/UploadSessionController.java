@@ -0,0 +1,74 @@
+package com.divyansh.linkedin.uploader_service.controller;
+
+import com.divyansh.linkedin.uploader_service.dto.UploadJobDTO;
+import com.divyansh.linkedin.uploader_service.dto.UploadSessionDTO;
+import com.divyansh.linkedin.uploader_service.exception.BadRequestException;
+import com.divyansh.linkedin.uploader_service.service.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resumable upload protocol: create a session, PUT chunks by offset, check the received ranges to
+ * resume after a dropped connection, then complete.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/file/sessions")
+public class UploadSessionController {
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionDTO> createSession(@RequestParam long totalSize,
+                                                          @RequestParam(required = false) String contentType) throws IOException {
+        return new ResponseEntity<>(resumableUploadService.createSession(totalSize, contentType), HttpStatus.CREATED);
+    }
+
+    @PutMapping(value = "/{sessionId}", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadSessionDTO> uploadChunk(@PathVariable String sessionId,
+                                                        @RequestParam long offset,
+                                                        HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            throw new BadRequestException("Content-Length is required");
+        }
+        try (InputStream inputStream = request.getInputStream()) {
+            return ResponseEntity.ok(resumableUploadService.writeChunk(sessionId, offset, length, inputStream));
+        }
+    }
+
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionDTO> getSession(@PathVariable String sessionId) {
+        return ResponseEntity.ok(resumableUploadService.getStatus(sessionId));
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<String> complete(@PathVariable String sessionId) throws IOException {
+        return ResponseEntity.ok(resumableUploadService.complete(sessionId));
+    }
+
+    @PostMapping("/{sessionId}/complete-async")
+    public ResponseEntity<UploadJobDTO> completeAsync(@PathVariable String sessionId) throws IOException {
+        return UploadJobController.accepted(resumableUploadService.completeAsync(sessionId));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abort(@PathVariable String sessionId) throws IOException {
+        resumableUploadService.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.divyansh.linkedin.uploader_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ByteRangeDTO {
+
+    private long start;
+    // inclusive, like an HTTP Content-Range
+    private long end;
+}
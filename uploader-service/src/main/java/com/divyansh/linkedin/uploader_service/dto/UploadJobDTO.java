@@ -0,0 +1,19 @@
+package com.divyansh.linkedin.uploader_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class UploadJobDTO {
+
+    private String jobId;
+    private UploadJobStatus status;
+    private String url;
+    private String error;
+    private int attempts;
+    private Instant createdAt;
+    private Instant completedAt;
+}
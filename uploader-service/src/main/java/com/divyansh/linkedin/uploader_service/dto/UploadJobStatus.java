@@ -0,0 +1,8 @@
+package com.divyansh.linkedin.uploader_service.dto;
+
+public enum UploadJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
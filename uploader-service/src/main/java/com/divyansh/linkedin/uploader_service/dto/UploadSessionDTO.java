@@ -0,0 +1,18 @@
+package com.divyansh.linkedin.uploader_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UploadSessionDTO {
+
+    private String sessionId;
+    private long totalSize;
+    private String contentType;
+    private long receivedBytes;
+    private List<ByteRangeDTO> receivedRanges;
+    private boolean complete;
+}
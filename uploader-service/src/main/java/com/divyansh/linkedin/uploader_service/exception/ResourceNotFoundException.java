@@ -0,0 +1,7 @@
+package com.divyansh.linkedin.uploader_service.exception;
+
+public class ResourceNotFoundException extends RuntimeException{
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.divyansh.linkedin.uploader_service.exception;
+
+public class ServiceUnavailableException extends RuntimeException{
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -4,22 +4,31 @@ import com.cloudinary.Cloudinary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "uploader.storage", havingValue = "cloudinary", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class CloudinaryFileUploadService implements FileUploaderService{
 
     private final Cloudinary cloudinary;
 
+    // Cloudinary accepts chunks of at least 5MB, except for the last one
+    @Value("${uploader.cloudinary.chunk-size:6291456}")
+    private int chunkSize;
+
     @Override
-    public String upload(MultipartFile multipartFile) throws IOException {
-        Map uploadResult = cloudinary.uploader().upload(multipartFile.getBytes(),Map.of());
+    public String upload(InputStream inputStream, long contentLength, String contentType) throws IOException {
+        // a chunked upload holds one chunk in memory at a time, small files need a buffer only as large as themselves
+        int bufferSize = (int) Math.max(1, Math.min(chunkSize, contentLength));
+        Map uploadResult = cloudinary.uploader().uploadLarge(inputStream, Map.of("resource_type", "auto"), bufferSize);
+        log.info("Uploaded {} bytes of {} to Cloudinary", contentLength, contentType);
         return uploadResult.get("secure_url").toString();
     }
 }
@@ -4,9 +4,21 @@ package com.divyansh.linkedin.uploader_service.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface FileUploaderService {
 
-    String upload(MultipartFile multipartFile) throws IOException;
+    default String upload(MultipartFile multipartFile) throws IOException {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return upload(inputStream, multipartFile.getSize(), multipartFile.getContentType());
+        }
+    }
+
+    /**
+     * Uploads contentLength bytes read from the stream and returns the URL of the stored file.
+     * Implementations copy through fixed-size buffers, so heap use doesn't grow with the file size.
+     * The caller owns the stream and closes it.
+     */
+    String upload(InputStream inputStream, long contentLength, String contentType) throws IOException;
 
 }
@@ -0,0 +1,238 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import com.divyansh.linkedin.uploader_service.exception.BadRequestException;
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService.FileStoredEvent;
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService.StoredFile;
+import com.divyansh.linkedin.uploader_service.utils.DiskLruCache;
+import com.divyansh.linkedin.uploader_service.utils.ImageResizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resized copies of stored images. The standard variants are generated when an image is stored and
+ * kept next to the original; other sizes are generated on first request into a size bounded LRU
+ * cache. Resizing runs on a pool sized to the CPUs, and concurrent requests for the same variant
+ * share one generation.
+ */
+@Service
+@ConditionalOnProperty(name = "uploader.storage", havingValue = "local")
+@Slf4j
+public class ImageVariantService {
+
+    public enum Variant {
+        THUMBNAIL(160),
+        FEED(600),
+        FULL(1600);
+
+        private final int maxDimension;
+
+        Variant(int maxDimension) {
+            this.maxDimension = maxDimension;
+        }
+    }
+
+    /**
+     * An opened variant, to be closed once served.
+     */
+    public record VariantFile(FileChannel channel, String contentType) implements AutoCloseable {
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    private final LocalDiskFileUploadService localDiskFileUploadService;
+    private final DiskLruCache cache;
+    private final ExecutorService resizePool;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${uploader.images.min-size:16}")
+    private int minSize;
+
+    @Value("${uploader.images.max-size:2048}")
+    private int maxSize;
+
+    @Value("${uploader.images.resize-timeout:PT30S}")
+    private Duration resizeTimeout;
+
+    public ImageVariantService(LocalDiskFileUploadService localDiskFileUploadService,
+                               @Value("${uploader.images.cache-dir:./data/variant-cache}") Path cacheDir,
+                               @Value("${uploader.images.cache-max-size:1073741824}") long cacheMaxSize,
+                               @Value("${uploader.images.workers:0}") int workers) throws IOException {
+        this.localDiskFileUploadService = localDiskFileUploadService;
+        this.cache = new DiskLruCache(cacheDir, cacheMaxSize);
+        this.resizePool = Executors.newFixedThreadPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resizePool.shutdownNow();
+    }
+
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        StoredFile file = event.file();
+        if (!isImage(file)) return;
+        for (Variant variant : Variant.values()) {
+            generate(file, standardPath(file, variant), variant.maxDimension, null)
+                    .exceptionally(e -> {
+                        log.warn("Failed to generate the {} variant of {}", variant, file.hash(), e);
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Opens a standard variant by name (thumbnail, feed, full), or the image fitted into a square of the
+     * given number of pixels, generating it if needed. The caller serves from the returned channel, which
+     * keeps the file readable even if the cache evicts it meanwhile, and closes it.
+     */
+    public Optional<VariantFile> openVariant(String hash, String variant) throws IOException {
+        Optional<StoredFile> original = localDiskFileUploadService.find(hash);
+        if (original.isEmpty()) return Optional.empty();
+        StoredFile file = original.get();
+        if (!isImage(file)) {
+            throw new BadRequestException("File " + hash + " is not a resizable image");
+        }
+
+        Variant named = parseVariant(variant);
+        String key = null;
+        Path path;
+        int maxDimension;
+        if (named != null) {
+            path = standardPath(file, named);
+            maxDimension = named.maxDimension;
+        } else {
+            maxDimension = parseSize(variant);
+            key = hash + "-" + maxDimension + "." + formatOf(file);
+            path = cache.pathOf(key);
+        }
+
+        // a file evicted or deleted between generating and opening it is generated again
+        for (int attempt = 0; attempt < MAX_OPEN_ATTEMPTS; attempt++) {
+            FileChannel channel = key != null ? cache.open(key) : openIfExists(path);
+            if (channel != null) {
+                return Optional.of(new VariantFile(channel, contentTypeOf(formatOf(file))));
+            }
+            await(generate(file, path, maxDimension, key));
+        }
+        throw new IOException("Variant " + variant + " of " + hash + " kept disappearing before it could be served");
+    }
+
+    private CompletableFuture<Path> generate(StoredFile file, Path target, int maxDimension, String cacheKey) {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(target, created);
+        if (existing != null) return existing;
+
+        resizePool.execute(() -> {
+            try {
+                if (cacheKey != null ? !cache.touch(cacheKey) : !Files.exists(target)) {
+                    resize(file, target, maxDimension, cacheKey);
+                }
+                created.complete(target);
+            } catch (Exception e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(target, created);
+            }
+        });
+        return created;
+    }
+
+    private void resize(StoredFile file, Path target, int maxDimension, String cacheKey) throws IOException {
+        long startedAt = System.nanoTime();
+        Path temp = cacheKey != null ? cache.newTempFile() : Files.createTempFile(target.getParent(), ".", ".tmp");
+        try {
+            ImageResizer.resize(file.path(), temp, maxDimension, formatOf(file));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        if (cacheKey != null) cache.added(cacheKey);
+        log.debug("Resized {} to {}px in {}ms", file.hash(), maxDimension, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private static FileChannel openIfExists(Path path) throws IOException {
+        try {
+            return FileChannel.open(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.get(resizeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out resizing the image", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Variant parseVariant(String variant) {
+        for (Variant named : Variant.values()) {
+            if (named.name().equalsIgnoreCase(variant)) return named;
+        }
+        return null;
+    }
+
+    private int parseSize(String variant) {
+        try {
+            int size = Integer.parseInt(variant);
+            if (size >= minSize && size <= maxSize) return size;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new BadRequestException("Variant must be thumbnail, feed, full or a size between " + minSize + " and " + maxSize);
+    }
+
+    private static Path standardPath(StoredFile file, Variant variant) {
+        return file.path().resolveSibling(file.hash() + "." + variant.name().toLowerCase(Locale.ROOT) + "." + formatOf(file));
+    }
+
+    private static boolean isImage(StoredFile file) {
+        return file.contentType() != null && ImageIO.getImageReadersByMIMEType(file.contentType()).hasNext();
+    }
+
+    // png and gif keep their transparency, everything else becomes jpeg
+    private static String formatOf(StoredFile file) {
+        return "image/png".equals(file.contentType()) || "image/gif".equals(file.contentType()) ? "png" : "jpg";
+    }
+
+    private static String contentTypeOf(String format) {
+        return "png".equals(format) ? "image/png" : "image/jpeg";
+    }
+}
@@ -0,0 +1,142 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Stores files on a local or mounted volume, content-addressed by their SHA-256.
+ * The hash is computed while the upload streams to a temp file, and identical content is kept once:
+ * the temp file is hard linked into place, which unlike a move fails when the target exists, so of
+ * concurrent identical uploads exactly one stores the file and announces it.
+ */
+@Service
+@ConditionalOnProperty(name = "uploader.storage", havingValue = "local")
+@Slf4j
+public class LocalDiskFileUploadService implements FileUploaderService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CONTENT_TYPE_SUFFIX = ".type";
+
+    private final Path root;
+    private final Path tempDir;
+    private final String baseUrl;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LocalDiskFileUploadService(ApplicationEventPublisher eventPublisher,
+                                      @Value("${uploader.local.root:./data/uploads}") Path root,
+                                      @Value("${uploader.local.base-url:http://localhost:9050/uploads}") String baseUrl) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        // temp files live on the same volume, so finished uploads are moved into place atomically
+        this.tempDir = Files.createDirectories(this.root.resolve("tmp"));
+        this.baseUrl = baseUrl;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String upload(InputStream inputStream, long contentLength, String contentType) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                    while (byteBuffer.hasRemaining()) {
+                        channel.write(byteBuffer);
+                    }
+                    written += read;
+                }
+            }
+            if (contentLength >= 0 && written != contentLength) {
+                throw new IOException("Upload ended after " + written + " of " + contentLength + " bytes");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            Files.createDirectories(target.getParent());
+            // the type goes first, so a file that can be found always has its type
+            if (contentType != null) {
+                storeContentType(target.resolveSibling(hash + CONTENT_TYPE_SUFFIX), contentType);
+            }
+            try {
+                Files.createLink(target, temp);
+            } catch (FileAlreadyExistsException e) {
+                log.info("Upload matches stored file {}, skipping the write", hash);
+                return urlOf(hash);
+            }
+            log.info("Stored {} bytes as {}", written, hash);
+            eventPublisher.publishEvent(new FileStoredEvent(new StoredFile(hash, target, written, contentType)));
+            return urlOf(hash);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<StoredFile> find(String hash) throws IOException {
+        Path path = pathOf(hash);
+        if (!Files.isRegularFile(path)) return Optional.empty();
+        Path typeFile = path.resolveSibling(hash + CONTENT_TYPE_SUFFIX);
+        String contentType = Files.exists(typeFile) ? Files.readString(typeFile, StandardCharsets.UTF_8) : null;
+        return Optional.of(new StoredFile(hash, path, Files.size(path), contentType));
+    }
+
+    private void storeContentType(Path typeFile, String contentType) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "type-", ".tmp");
+        try {
+            Files.writeString(temp, contentType, StandardCharsets.UTF_8);
+            Files.createLink(typeFile, temp);
+        } catch (FileAlreadyExistsException e) {
+            // the first upload of this content decided its type
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private String urlOf(String hash) {
+        return baseUrl + "/file/" + hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredFile(String hash, Path path, long size, String contentType) {
+    }
+
+    /**
+     * Published when new content is written, not when an upload matched an existing file.
+     */
+    public record FileStoredEvent(StoredFile file) {
+    }
+}
@@ -0,0 +1,355 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import com.divyansh.linkedin.uploader_service.dto.ByteRangeDTO;
+import com.divyansh.linkedin.uploader_service.dto.UploadJobDTO;
+import com.divyansh.linkedin.uploader_service.dto.UploadSessionDTO;
+import com.divyansh.linkedin.uploader_service.exception.BadRequestException;
+import com.divyansh.linkedin.uploader_service.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Resumable uploads: a session preallocates a file of the announced size, chunks are written into it
+ * by offset with positional writes (in any order, in parallel), and the finished file is handed to the
+ * configured storage backend. Bytes of a chunk cut off mid-transfer still count as received.
+ * <p>
+ * Every session keeps a small properties sidecar next to its .part file with its size, content type
+ * and received ranges, rewritten after each chunk once the chunk's bytes are forced to disk. Sessions
+ * are reloaded from their sidecars at startup, so a client can resume across a restart or redeploy;
+ * .part files without a sidecar are left over from sessions that can't be resumed and are deleted.
+ */
+@Service
+@Slf4j
+public class ResumableUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String SIDECAR_SUFFIX = ".session";
+
+    private final FileUploaderService fileUploaderService;
+    private final UploadJobService uploadJobService;
+    private final Path sessionDir;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${uploader.sessions.max-size:5368709120}")
+    private long maxSize;
+
+    @Value("${uploader.sessions.ttl:PT24H}")
+    private Duration ttl;
+
+    public ResumableUploadService(FileUploaderService fileUploaderService, UploadJobService uploadJobService,
+                                  @Value("${uploader.sessions.dir:./data/upload-sessions}") Path sessionDir) throws IOException {
+        this.fileUploaderService = fileUploaderService;
+        this.uploadJobService = uploadJobService;
+        this.sessionDir = Files.createDirectories(sessionDir);
+        loadSessions();
+    }
+
+    public UploadSessionDTO createSession(long totalSize, String contentType) throws IOException {
+        if (totalSize <= 0 || totalSize > maxSize) {
+            throw new BadRequestException("Upload size must be between 1 and " + maxSize + " bytes");
+        }
+        String sessionId = UUID.randomUUID().toString();
+        Path path = sessionDir.resolve(sessionId + PART_SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        UploadSession session = new UploadSession(sessionId, path, channel, totalSize, contentType);
+        try {
+            // extends the file to its final size, sparse where the filesystem allows it
+            channel.write(ByteBuffer.allocate(1), totalSize - 1);
+            session.save();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        sessions.put(sessionId, session);
+        log.info("Created upload session {} for {} bytes", sessionId, totalSize);
+        return session.toDTO();
+    }
+
+    public UploadSessionDTO writeChunk(String sessionId, long offset, long length, InputStream inputStream) throws IOException {
+        UploadSession session = getSession(sessionId);
+        if (offset < 0 || length < 0 || offset + length > session.totalSize) {
+            throw new BadRequestException("Chunk " + offset + "+" + length + " is outside of the " + session.totalSize + " byte upload");
+        }
+        if (session.completing) {
+            throw new BadRequestException("Upload " + sessionId + " is already being completed");
+        }
+        session.touch();
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = offset;
+        long end = offset + length;
+        try {
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, end - position));
+                int read = inputStream.read(buffer.array(), 0, buffer.limit());
+                if (read == -1) break;
+                buffer.limit(read);
+                while (buffer.hasRemaining()) {
+                    position += session.channel.write(buffer, position);
+                }
+            }
+        } finally {
+            if (position > offset) {
+                // the bytes have to be on disk before the sidecar says they were received
+                session.channel.force(false);
+            }
+            session.received(offset, position);
+        }
+        if (position < end) {
+            throw new BadRequestException("Chunk ended after " + (position - offset) + " of " + length + " bytes");
+        }
+        return session.toDTO();
+    }
+
+    public UploadSessionDTO getStatus(String sessionId) {
+        return getSession(sessionId).toDTO();
+    }
+
+    public String complete(String sessionId) throws IOException {
+        UploadSession session = getSession(sessionId);
+        if (!session.startCompleting()) {
+            throw new BadRequestException("Upload " + sessionId + " is incomplete or already being completed");
+        }
+        try (InputStream inputStream = Files.newInputStream(session.path)) {
+            session.channel.force(false);
+            String url = fileUploaderService.upload(inputStream, session.totalSize, session.contentType);
+            log.info("Completed upload session {}", sessionId);
+            discard(session);
+            return url;
+        } catch (IOException | RuntimeException e) {
+            session.completing = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the assembled file to an upload job instead of transferring it on the request thread.
+     */
+    public UploadJobDTO completeAsync(String sessionId) throws IOException {
+        UploadSession session = getSession(sessionId);
+        uploadJobService.checkCapacity();
+        if (!session.startCompleting()) {
+            throw new BadRequestException("Upload " + sessionId + " is incomplete or already being completed");
+        }
+        session.channel.close();
+        sessions.remove(sessionId);
+        Files.deleteIfExists(session.sidecar);
+        return uploadJobService.submit(session.path, session.totalSize, session.contentType);
+    }
+
+    public void abort(String sessionId) throws IOException {
+        discard(getSession(sessionId));
+    }
+
+    @Scheduled(fixedDelayString = "${uploader.sessions.sweep-interval:PT10M}")
+    public void expireSessions() {
+        long cutoff = System.nanoTime() - ttl.toNanos();
+        for (UploadSession session : sessions.values()) {
+            if (session.lastActivity - cutoff < 0 && !session.completing) {
+                log.info("Expiring idle upload session {}", session.id);
+                try {
+                    discard(session);
+                } catch (IOException e) {
+                    log.warn("Failed to delete upload session {}", session.id, e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeSessions() throws IOException {
+        for (UploadSession session : sessions.values()) {
+            session.channel.close();
+        }
+    }
+
+    private UploadSession getSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+        return session;
+    }
+
+    private void discard(UploadSession session) throws IOException {
+        if (sessions.remove(session.id, session)) {
+            session.channel.close();
+            Files.deleteIfExists(session.sidecar);
+            Files.deleteIfExists(session.path);
+        }
+    }
+
+    /**
+     * Reopens the sessions left by a previous run and deletes .part and sidecar files that have lost their partner.
+     */
+    private void loadSessions() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(sessionDir)) {
+            files = listing.toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(SIDECAR_SUFFIX)) {
+                String sessionId = name.substring(0, name.length() - SIDECAR_SUFFIX.length());
+                try {
+                    UploadSession session = UploadSession.load(sessionId, sessionDir.resolve(sessionId + PART_SUFFIX), file);
+                    sessions.put(sessionId, session);
+                    log.info("Resumed upload session {} with {} of {} bytes", sessionId, session.receivedBytes(), session.totalSize);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Dropping upload session {} that can't be resumed", sessionId, e);
+                    Files.deleteIfExists(file);
+                    Files.deleteIfExists(sessionDir.resolve(sessionId + PART_SUFFIX));
+                }
+            }
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            boolean orphanedPart = name.endsWith(PART_SUFFIX)
+                    && !sessions.containsKey(name.substring(0, name.length() - PART_SUFFIX.length()));
+            if (orphanedPart || name.endsWith(SIDECAR_SUFFIX + ".tmp")) {
+                log.info("Deleting leftover upload session file {}", file);
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static class UploadSession {
+
+        private final String id;
+        private final Path path;
+        private final Path sidecar;
+        private final FileChannel channel;
+        private final long totalSize;
+        private final String contentType;
+        // received byte ranges, start to exclusive end, merged as chunks land
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean completing;
+
+        UploadSession(String id, Path path, FileChannel channel, long totalSize, String contentType) {
+            this.id = id;
+            this.path = path;
+            this.sidecar = path.resolveSibling(id + SIDECAR_SUFFIX);
+            this.channel = channel;
+            this.totalSize = totalSize;
+            this.contentType = contentType;
+        }
+
+        static UploadSession load(String id, Path path, Path sidecar) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(sidecar)) {
+                properties.load(inputStream);
+            }
+            long totalSize = Long.parseLong(properties.getProperty("totalSize"));
+            if (!Files.exists(path) || Files.size(path) != totalSize) {
+                throw new IllegalStateException("Missing or truncated " + path);
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            UploadSession session = new UploadSession(id, path, channel, totalSize, properties.getProperty("contentType"));
+            String ranges = properties.getProperty("ranges", "");
+            for (String range : ranges.split(",")) {
+                if (range.isEmpty()) continue;
+                int dash = range.indexOf('-');
+                session.ranges.put(Long.parseLong(range.substring(0, dash)), Long.parseLong(range.substring(dash + 1)));
+            }
+            // idle time carries over from before the restart
+            long idleNanos = Duration.between(Files.getLastModifiedTime(sidecar).toInstant(), Instant.now()).toNanos();
+            session.lastActivity = System.nanoTime() - Math.max(0, idleNanos);
+            return session;
+        }
+
+        void touch() {
+            lastActivity = System.nanoTime();
+        }
+
+        /**
+         * Rewrites the sidecar atomically, so a crash leaves either the old or the new ranges.
+         */
+        synchronized void save() {
+            Properties properties = new Properties();
+            properties.setProperty("totalSize", Long.toString(totalSize));
+            if (contentType != null) properties.setProperty("contentType", contentType);
+            StringBuilder received = new StringBuilder();
+            ranges.forEach((start, end) -> received.append(received.isEmpty() ? "" : ",").append(start).append('-').append(end));
+            properties.setProperty("ranges", received.toString());
+            Path temp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                    properties.store(outputStream, "upload session " + id);
+                }
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void received(long start, long end) {
+            touch();
+            if (end <= start) return;
+            Map.Entry<Long, Long> before = ranges.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            Map.Entry<Long, Long> next;
+            while ((next = ranges.ceilingEntry(start)) != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+            }
+            ranges.put(start, end);
+            save();
+        }
+
+        synchronized long receivedBytes() {
+            long received = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                received += range.getValue() - range.getKey();
+            }
+            return received;
+        }
+
+        synchronized boolean startCompleting() {
+            if (completing || receivedBytes() != totalSize) return false;
+            completing = true;
+            return true;
+        }
+
+        synchronized UploadSessionDTO toDTO() {
+            List<ByteRangeDTO> receivedRanges = new ArrayList<>(ranges.size());
+            ranges.forEach((start, end) -> receivedRanges.add(new ByteRangeDTO(start, end - 1)));
+            long received = receivedBytes();
+            return UploadSessionDTO.builder()
+                    .sessionId(id)
+                    .totalSize(totalSize)
+                    .contentType(contentType)
+                    .receivedBytes(received)
+                    .receivedRanges(receivedRanges)
+                    .complete(received == totalSize)
+                    .build();
+        }
+    }
+}
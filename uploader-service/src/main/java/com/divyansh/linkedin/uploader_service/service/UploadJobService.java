@@ -0,0 +1,416 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import com.divyansh.linkedin.uploader_service.dto.UploadJobDTO;
+import com.divyansh.linkedin.uploader_service.dto.UploadJobStatus;
+import com.divyansh.linkedin.uploader_service.exception.ResourceNotFoundException;
+import com.divyansh.linkedin.uploader_service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs backend transfers off the request thread. An upload is staged on local disk, accepted as a job,
+ * and moved to the storage backend by a fixed worker pool with exponential backoff between attempts.
+ * Admission is bounded by the number of queued jobs, so a slow backend turns into 503s instead of a
+ * full disk.
+ * <p>
+ * Each job is a staged job-&lt;id&gt;.part file plus a job-&lt;id&gt;.job properties record, rewritten on
+ * every state change. At startup unfinished jobs are queued again and finished ones stay pollable until
+ * the retention passes; staged files without a record are deleted. Jobs are only as durable as the
+ * staging directory, so it has to live on a persistent volume.
+ */
+@Service
+@Slf4j
+public class UploadJobService {
+
+    private static final String STAGED_SUFFIX = ".part";
+    private static final String RECORD_SUFFIX = ".job";
+
+    private final FileUploaderService fileUploaderService;
+    private final MeterRegistry meterRegistry;
+    private final Path stagingDir;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    @Value("${uploader.jobs.workers:4}")
+    private int workerCount;
+
+    @Value("${uploader.jobs.max-queued:200}")
+    private int maxQueued;
+
+    @Value("${uploader.jobs.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${uploader.jobs.retry-backoff:PT2S}")
+    private Duration retryBackoff;
+
+    @Value("${uploader.jobs.retention:PT1H}")
+    private Duration retention;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private Timer completionSucceeded;
+    private Timer completionFailed;
+
+    public UploadJobService(FileUploaderService fileUploaderService, MeterRegistry meterRegistry,
+                            @Value("${uploader.jobs.staging-dir:./data/upload-staging}") Path stagingDir) throws IOException {
+        this.fileUploaderService = fileUploaderService;
+        this.meterRegistry = meterRegistry;
+        this.stagingDir = Files.createDirectories(stagingDir);
+    }
+
+    @PostConstruct
+    public void init() {
+        workers = Executors.newFixedThreadPool(workerCount);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        Gauge.builder("uploader.jobs.queue.depth", queued, AtomicInteger::get)
+                .description("Upload jobs waiting for a worker, including ones backing off before a retry")
+                .register(meterRegistry);
+        completionSucceeded = completionTimer(UploadJobStatus.SUCCEEDED);
+        completionFailed = completionTimer(UploadJobStatus.FAILED);
+        loadJobs();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+    }
+
+    /**
+     * Stages the stream on local disk and queues its transfer.
+     */
+    public UploadJobDTO submit(InputStream inputStream, long contentLength, String contentType) throws IOException {
+        checkCapacity();
+        String jobId = UUID.randomUUID().toString();
+        Path staged = stagedPath(jobId);
+        try (OutputStream out = Files.newOutputStream(staged)) {
+            long copied = inputStream.transferTo(out);
+            if (contentLength >= 0 && copied != contentLength) {
+                throw new IOException("Upload ended after " + copied + " of " + contentLength + " bytes");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return accept(jobId, staged, Files.size(staged), contentType);
+    }
+
+    /**
+     * Stages a multipart upload by moving the part the container already spooled to disk, and queues its transfer.
+     */
+    public UploadJobDTO submit(MultipartFile file) throws IOException {
+        checkCapacity();
+        String jobId = UUID.randomUUID().toString();
+        Path staged = stagedPath(jobId);
+        try {
+            // the File overload lets the container rename its temp file instead of copying it
+            file.transferTo(staged.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return accept(jobId, staged, Files.size(staged), file.getContentType());
+    }
+
+    /**
+     * Queues the transfer of an already staged file, which is moved into the staging directory.
+     * The job owns the file and deletes it when it finishes.
+     */
+    public UploadJobDTO submit(Path file, long size, String contentType) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path staged = stagedPath(jobId);
+        try {
+            Files.move(file, staged, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // a different file system, fall back to copy and delete
+            Files.move(file, staged);
+        }
+        return accept(jobId, staged, size, contentType);
+    }
+
+    public UploadJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    /**
+     * Completes with the job once it has finished, or with its current state after the wait.
+     */
+    public CompletableFuture<UploadJobDTO> awaitJob(String jobId, Duration wait) {
+        UploadJob job = findJob(jobId);
+        return job.done.copy()
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> job.toDTO());
+    }
+
+    @Scheduled(fixedDelayString = "${uploader.jobs.purge-interval:PT5M}")
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || !job.completedAt.isBefore(cutoff)) return false;
+            try {
+                Files.deleteIfExists(recordPath(job.id));
+            } catch (IOException e) {
+                log.warn("Failed to delete the record of upload job {}", job.id, e);
+            }
+            return true;
+        });
+    }
+
+    void checkCapacity() {
+        if (queued.get() >= maxQueued) {
+            throw new ServiceUnavailableException("Too many uploads are waiting, try again later");
+        }
+    }
+
+    private UploadJobDTO accept(String jobId, Path staged, long size, String contentType) throws IOException {
+        UploadJob job = new UploadJob(jobId, staged, size, contentType, Instant.now());
+        try {
+            save(job);
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(staged);
+            throw e.getCause();
+        }
+        jobs.put(job.id, job);
+        enqueue(job);
+        log.info("Accepted upload job {} for {} bytes", job.id, size);
+        return job.toDTO();
+    }
+
+    private void enqueue(UploadJob job) {
+        queued.incrementAndGet();
+        workers.execute(() -> run(job));
+    }
+
+    private void run(UploadJob job) {
+        queued.decrementAndGet();
+        job.status = UploadJobStatus.RUNNING;
+        job.attempts++;
+        saveQuietly(job);
+        long startedAt = System.nanoTime();
+        try (InputStream inputStream = Files.newInputStream(job.staged)) {
+            String url = fileUploaderService.upload(inputStream, job.size, job.contentType);
+            recordTransfer("success", startedAt);
+            job.url = url;
+            finish(job, UploadJobStatus.SUCCEEDED);
+        } catch (IOException | RuntimeException e) {
+            recordTransfer("failure", startedAt);
+            job.error = e.getMessage();
+            if (job.attempts >= maxAttempts) {
+                log.error("Upload job {} failed after {} attempts", job.id, job.attempts, e);
+                finish(job, UploadJobStatus.FAILED);
+                return;
+            }
+            long backoff = retryBackoff.toMillis() << (job.attempts - 1);
+            log.warn("Upload job {} attempt {} failed, retrying in {}ms", job.id, job.attempts, backoff, e);
+            job.status = UploadJobStatus.QUEUED;
+            queued.incrementAndGet();
+            retryScheduler.schedule(() -> {
+                queued.decrementAndGet();
+                enqueue(job);
+            }, backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void finish(UploadJob job, UploadJobStatus status) {
+        job.completedAt = Instant.now();
+        job.status = status;
+        saveQuietly(job);
+        (status == UploadJobStatus.SUCCEEDED ? completionSucceeded : completionFailed)
+                .record(Duration.between(job.createdAt, job.completedAt));
+        try {
+            Files.deleteIfExists(job.staged);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload {}", job.staged, e);
+        }
+        job.done.complete(null);
+    }
+
+    private void recordTransfer(String outcome, long startedAt) {
+        Timer.builder("uploader.jobs.transfer")
+                .description("Time spent on one attempt to move an upload to the storage backend")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer completionTimer(UploadJobStatus status) {
+        return Timer.builder("uploader.jobs.completion")
+                .description("Time from accepting an upload job to its final state")
+                .tag("status", status.name())
+                .register(meterRegistry);
+    }
+
+    private Path stagedPath(String jobId) {
+        return stagingDir.resolve("job-" + jobId + STAGED_SUFFIX).toAbsolutePath();
+    }
+
+    private Path recordPath(String jobId) {
+        return stagingDir.resolve("job-" + jobId + RECORD_SUFFIX);
+    }
+
+    /**
+     * Writes the job record atomically, so a crash leaves either the old or the new state.
+     */
+    private void save(UploadJob job) {
+        Properties properties = new Properties();
+        properties.setProperty("size", Long.toString(job.size));
+        if (job.contentType != null) properties.setProperty("contentType", job.contentType);
+        properties.setProperty("createdAt", job.createdAt.toString());
+        properties.setProperty("status", job.status.name());
+        properties.setProperty("attempts", Integer.toString(job.attempts));
+        if (job.url != null) properties.setProperty("url", job.url);
+        if (job.error != null) properties.setProperty("error", job.error);
+        if (job.completedAt != null) properties.setProperty("completedAt", job.completedAt.toString());
+        Path record = recordPath(job.id);
+        Path temp = record.resolveSibling(record.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "upload job " + job.id);
+            }
+            Files.move(temp, record, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void saveQuietly(UploadJob job) {
+        try {
+            save(job);
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to update the record of upload job {}", job.id, e);
+        }
+    }
+
+    /**
+     * Restores the jobs of a previous run, queueing the unfinished ones again, and deletes staged files without a record.
+     */
+    private void loadJobs() {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(stagingDir)) {
+            files = listing.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (!name.startsWith("job-") || !name.endsWith(RECORD_SUFFIX)) continue;
+            String jobId = name.substring("job-".length(), name.length() - RECORD_SUFFIX.length());
+            try {
+                UploadJob job = UploadJob.load(jobId, stagedPath(jobId), file);
+                jobs.put(jobId, job);
+                if (job.completedAt != null) continue;
+                if (Files.exists(job.staged)) {
+                    log.info("Requeueing upload job {} after a restart", jobId);
+                    job.status = UploadJobStatus.QUEUED;
+                    enqueue(job);
+                } else {
+                    job.error = "The staged upload was lost";
+                    finish(job, UploadJobStatus.FAILED);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropping unreadable upload job record {}", file, e);
+            }
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            boolean orphaned = name.startsWith("job-") && name.endsWith(STAGED_SUFFIX)
+                    && !jobs.containsKey(name.substring("job-".length(), name.length() - STAGED_SUFFIX.length()));
+            if (orphaned || name.endsWith(RECORD_SUFFIX + ".tmp")) {
+                try {
+                    log.info("Deleting leftover staged upload {}", file);
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}", file, e);
+                }
+            }
+        }
+    }
+
+    private UploadJob findJob(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) throw new ResourceNotFoundException("Upload job not found: " + jobId);
+        return job;
+    }
+
+    private static class UploadJob {
+
+        private final String id;
+        private final Path staged;
+        private final long size;
+        private final String contentType;
+        private final Instant createdAt;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile UploadJobStatus status = UploadJobStatus.QUEUED;
+        private volatile int attempts;
+        private volatile String url;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        UploadJob(String id, Path staged, long size, String contentType, Instant createdAt) {
+            this.id = id;
+            this.staged = staged;
+            this.size = size;
+            this.contentType = contentType;
+            this.createdAt = createdAt;
+        }
+
+        static UploadJob load(String id, Path staged, Path record) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(record)) {
+                properties.load(inputStream);
+            }
+            UploadJob job = new UploadJob(id, staged, Long.parseLong(properties.getProperty("size")),
+                    properties.getProperty("contentType"), Instant.parse(properties.getProperty("createdAt")));
+            job.status = UploadJobStatus.valueOf(properties.getProperty("status"));
+            job.attempts = Integer.parseInt(properties.getProperty("attempts", "0"));
+            job.url = properties.getProperty("url");
+            job.error = properties.getProperty("error");
+            String completedAt = properties.getProperty("completedAt");
+            job.completedAt = completedAt != null ? Instant.parse(completedAt) : null;
+            if (job.completedAt != null) job.done.complete(null);
+            return job;
+        }
+
+        UploadJobDTO toDTO() {
+            return UploadJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .url(url)
+                    .error(status == UploadJobStatus.SUCCEEDED ? null : error)
+                    .attempts(attempts)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
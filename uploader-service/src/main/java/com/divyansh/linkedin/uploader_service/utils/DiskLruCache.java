@@ -0,0 +1,130 @@
+package com.divyansh.linkedin.uploader_service.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Directory of files bounded by total size, evicting the least recently used file first.
+ * Recency lives in memory; after a restart the files are ordered by their last modified time.
+ */
+@Slf4j
+public class DiskLruCache {
+
+    private final Path dir;
+    private final long maxBytes;
+    // access ordered, eldest first
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public DiskLruCache(Path dir, long maxBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+        try (Stream<Path> files = Files.list(this.dir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !isTemp(file))
+                    .map(file -> Map.entry(file, attributes(file)))
+                    .sorted(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()))
+                    .forEach(entry -> {
+                        sizes.put(entry.getKey().getFileName().toString(), entry.getValue().size());
+                        totalBytes += entry.getValue().size();
+                    });
+        }
+        evict();
+    }
+
+    public Path pathOf(String key) {
+        return dir.resolve(key);
+    }
+
+    /**
+     * A file to write an entry into before moving it to pathOf(key). Leftovers are deleted on startup.
+     */
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(dir, ".", ".tmp");
+    }
+
+    /**
+     * Marks the key as recently used.
+     * @return false if the key isn't cached
+     */
+    public synchronized boolean touch(String key) {
+        return sizes.get(key) != null;
+    }
+
+    /**
+     * Opens a cached file and marks it as recently used. Eviction can't delete the file between the
+     * lookup and the open, and once open it stays readable even if it is evicted while being served.
+     * @return null if the key isn't cached or its file has vanished
+     */
+    public synchronized FileChannel open(String key) throws IOException {
+        Long size = sizes.get(key);
+        if (size == null) return null;
+        try {
+            return FileChannel.open(pathOf(key));
+        } catch (NoSuchFileException e) {
+            sizes.remove(key);
+            totalBytes -= size;
+            return null;
+        }
+    }
+
+    /**
+     * Records a file just written to pathOf(key) and evicts older files past the size limit.
+     */
+    public synchronized void added(String key) throws IOException {
+        long size = Files.size(pathOf(key));
+        Long previous = sizes.put(key, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        evict();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+        // the newest file stays even if it alone is over the limit
+        while (totalBytes > maxBytes && sizes.size() > 1 && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(pathOf(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to evict {}", entry.getKey(), e);
+                continue;
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    private static boolean isTemp(Path file) {
+        if (!file.getFileName().toString().startsWith(".")) return false;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete leftover {}", file, e);
+        }
+        return true;
+    }
+
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
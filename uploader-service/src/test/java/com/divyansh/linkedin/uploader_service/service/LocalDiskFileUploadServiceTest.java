@@ -0,0 +1,85 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService.FileStoredEvent;
+import com.divyansh.linkedin.uploader_service.service.LocalDiskFileUploadService.StoredFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalDiskFileUploadServiceTest {
+
+    private static final String BASE_URL = "http://localhost/uploads";
+
+    @TempDir
+    Path root;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    void storesContentOnceWithItsFirstType() throws Exception {
+        LocalDiskFileUploadService service = new LocalDiskFileUploadService(events::add, root, BASE_URL);
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+
+        String first = upload(service, content, "image/png");
+        String second = upload(service, content, "text/html");
+
+        assertEquals(first, second);
+        StoredFile stored = service.find(hashOf(first)).orElseThrow();
+        assertEquals("image/png", stored.contentType());
+        assertArrayEquals(content, Files.readAllBytes(stored.path()));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void announcesConcurrentIdenticalUploadsOnce() throws Exception {
+        LocalDiskFileUploadService service = new LocalDiskFileUploadService(events::add, root, BASE_URL);
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) content[i] = (byte) (i * 31);
+        int uploads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(uploads)) {
+            List<Future<String>> urls = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                urls.add(executor.submit(() -> {
+                    start.await();
+                    return upload(service, content, "image/jpeg");
+                }));
+            }
+            start.countDown();
+            for (Future<String> url : urls) assertEquals(urls.getFirst().get(), url.get());
+        }
+
+        assertEquals(1, events.size());
+        StoredFile stored = ((FileStoredEvent) events.getFirst()).file();
+        assertEquals(content.length, stored.size());
+        assertEquals("image/jpeg", service.find(stored.hash()).orElseThrow().contentType());
+        try (var tempFiles = Files.list(root.resolve("tmp"))) {
+            assertTrue(tempFiles.findAny().isEmpty(), "temp files were left behind");
+        }
+    }
+
+    private static String upload(LocalDiskFileUploadService service, byte[] content, String contentType) throws IOException {
+        return service.upload(new ByteArrayInputStream(content), content.length, contentType);
+    }
+
+    private static String hashOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.divyansh.linkedin.uploader_service.service;
+
+import com.divyansh.linkedin.uploader_service.dto.ByteRangeDTO;
+import com.divyansh.linkedin.uploader_service.dto.UploadSessionDTO;
+import com.divyansh.linkedin.uploader_service.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumableUploadServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ResumableUploadService service;
+
+    @AfterEach
+    void closeSessions() throws IOException {
+        if (service != null) service.closeSessions();
+    }
+
+    @Test
+    void mergesOverlappingAndAdjacentChunks() throws IOException {
+        String sessionId = start(100);
+
+        write(sessionId, 10, 10);
+        write(sessionId, 30, 10);
+        assertEquals(List.of(range(10, 19), range(30, 39)), status(sessionId).getReceivedRanges());
+
+        write(sessionId, 20, 10);
+        assertEquals(List.of(range(10, 39)), status(sessionId).getReceivedRanges());
+
+        write(sessionId, 0, 15);
+        write(sessionId, 35, 15);
+        UploadSessionDTO status = status(sessionId);
+        assertEquals(List.of(range(0, 49)), status.getReceivedRanges());
+        assertEquals(50, status.getReceivedBytes());
+    }
+
+    @Test
+    void aChunkSpanningSeveralRangesSwallowsThem() throws IOException {
+        String sessionId = start(100);
+        write(sessionId, 10, 5);
+        write(sessionId, 30, 5);
+        write(sessionId, 50, 5);
+        write(sessionId, 90, 5);
+
+        write(sessionId, 12, 40);
+
+        assertEquals(List.of(range(10, 54), range(90, 94)), status(sessionId).getReceivedRanges());
+    }
+
+    @Test
+    void completesOnceEveryByteArrivedInAnyOrder() throws IOException {
+        String sessionId = start(30);
+
+        write(sessionId, 20, 10);
+        write(sessionId, 0, 10);
+        assertFalse(status(sessionId).isComplete());
+        write(sessionId, 10, 10);
+
+        UploadSessionDTO status = status(sessionId);
+        assertTrue(status.isComplete());
+        assertEquals(List.of(range(0, 29)), status.getReceivedRanges());
+    }
+
+    @Test
+    void countsTheBytesOfACutOffChunk() throws IOException {
+        String sessionId = start(100);
+
+        assertThrows(BadRequestException.class,
+                () -> service.writeChunk(sessionId, 40, 20, new ByteArrayInputStream(new byte[7])));
+
+        assertEquals(List.of(range(40, 46)), status(sessionId).getReceivedRanges());
+    }
+
+    @Test
+    void resumesItsRangesAfterARestart() throws IOException {
+        String sessionId = start(100);
+        write(sessionId, 0, 10);
+        write(sessionId, 50, 25);
+        service.closeSessions();
+
+        service = newService();
+
+        UploadSessionDTO status = status(sessionId);
+        assertEquals(List.of(range(0, 9), range(50, 74)), status.getReceivedRanges());
+        assertEquals(35, status.getReceivedBytes());
+    }
+
+    private String start(long totalSize) throws IOException {
+        service = newService();
+        return service.createSession(totalSize, "application/octet-stream").getSessionId();
+    }
+
+    private ResumableUploadService newService() throws IOException {
+        ResumableUploadService resumableUploadService = new ResumableUploadService(null, null, dir);
+        ReflectionTestUtils.setField(resumableUploadService, "maxSize", 1024L);
+        return resumableUploadService;
+    }
+
+    private void write(String sessionId, long offset, int length) throws IOException {
+        service.writeChunk(sessionId, offset, length, new ByteArrayInputStream(new byte[length]));
+    }
+
+    private UploadSessionDTO status(String sessionId) {
+        return service.getStatus(sessionId);
+    }
+
+    private static ByteRangeDTO range(long start, long end) {
+        return new ByteRangeDTO(start, end);
+    }
+}
@@ -0,0 +1,119 @@
+package com.divyansh.linkedin.uploader_service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiskLruCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void evictsTheLeastRecentlyUsedFile() throws IOException {
+        DiskLruCache cache = new DiskLruCache(dir, 30);
+        put(cache, "a", 10);
+        put(cache, "b", 10);
+        put(cache, "c", 10);
+        assertTrue(cache.touch("a"));
+
+        put(cache, "d", 10);
+
+        assertFalse(cache.touch("b"));
+        assertFalse(Files.exists(cache.pathOf("b")));
+        assertTrue(cache.touch("a"));
+        assertTrue(cache.touch("c"));
+        assertEquals(30, cache.totalBytes());
+    }
+
+    @Test
+    void keepsTheNewestFileEvenWhenItAloneIsOverTheLimit() throws IOException {
+        DiskLruCache cache = new DiskLruCache(dir, 10);
+        put(cache, "small", 5);
+
+        put(cache, "large", 20);
+
+        assertFalse(cache.touch("small"));
+        assertTrue(cache.touch("large"));
+        assertEquals(20, cache.totalBytes());
+    }
+
+    @Test
+    void countsARewrittenFileOnce() throws IOException {
+        DiskLruCache cache = new DiskLruCache(dir, 100);
+        put(cache, "a", 10);
+
+        put(cache, "a", 25);
+
+        assertEquals(25, cache.totalBytes());
+    }
+
+    @Test
+    void ordersExistingFilesByLastModifiedOnStartup() throws IOException {
+        Instant now = Instant.now();
+        write(dir.resolve("old"), 10, now.minusSeconds(60));
+        write(dir.resolve("new"), 10, now);
+        write(dir.resolve("middle"), 10, now.minusSeconds(30));
+        Path leftover = write(dir.resolve(".upload.tmp"), 50, now);
+
+        DiskLruCache cache = new DiskLruCache(dir, 20);
+
+        assertFalse(Files.exists(leftover));
+        assertFalse(cache.touch("old"));
+        assertTrue(cache.touch("middle"));
+        assertTrue(cache.touch("new"));
+        assertEquals(20, cache.totalBytes());
+    }
+
+    @Test
+    void anOpenFileStaysReadableAfterEviction() throws IOException {
+        DiskLruCache cache = new DiskLruCache(dir, 10);
+        put(cache, "served", 10);
+
+        try (FileChannel channel = cache.open("served")) {
+            assertNotNull(channel);
+            put(cache, "next", 10);
+            assertFalse(Files.exists(cache.pathOf("served")));
+
+            assertEquals(10, channel.read(ByteBuffer.allocate(10)));
+        }
+    }
+
+    @Test
+    void forgetsAFileThatVanished() throws IOException {
+        DiskLruCache cache = new DiskLruCache(dir, 100);
+        put(cache, "a", 10);
+        Files.delete(cache.pathOf("a"));
+
+        assertNull(cache.open("a"));
+        assertFalse(cache.touch("a"));
+        assertEquals(0, cache.totalBytes());
+    }
+
+    private static void put(DiskLruCache cache, String key, int size) throws IOException {
+        Path temp = cache.newTempFile();
+        Files.write(temp, new byte[size]);
+        Files.move(temp, cache.pathOf(key), StandardCopyOption.REPLACE_EXISTING);
+        cache.added(key);
+    }
+
+    private static Path write(Path file, int size, Instant lastModified) throws IOException {
+        Files.write(file, new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.from(lastModified));
+        return file;
+    }
+}
@@ -0,0 +1,30 @@
+package com.divyansh.linkedin.user_service.mapper;
+
+import com.divyansh.linkedin.user_service.dto.SignUpRequestDTO;
+import com.divyansh.linkedin.user_service.dto.UserDTO;
+import com.divyansh.linkedin.user_service.entity.User;
+
+/**
+ * User conversions written out field by field, with no reflection or type map lookups per call.
+ * A field added to User or its DTOs has to be added here as well.
+ */
+public class UserMapper {
+
+    public static UserDTO toDTO(User user){
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        userDTO.setEmail(user.getEmail());
+        userDTO.setName(user.getName());
+        return userDTO;
+    }
+
+    /**
+     * Copies the sign up fields except the password, which the caller sets to its hash.
+     */
+    public static User toEntity(SignUpRequestDTO signUpRequestDTO){
+        User user = new User();
+        user.setEmail(signUpRequestDTO.getEmail());
+        user.setName(signUpRequestDTO.getName());
+        return user;
+    }
+}
@@ -4,12 +4,12 @@ import com.divyansh.linkedin.user_service.dto.LoginRequestDTO;
 import com.divyansh.linkedin.user_service.dto.SignUpRequestDTO;
 import com.divyansh.linkedin.user_service.dto.UserDTO;
 import com.divyansh.linkedin.user_service.entity.User;
+import com.divyansh.linkedin.user_service.mapper.UserMapper;
 import com.divyansh.linkedin.user_service.repository.UserRepository;
 import com.divyansh.linkedin.user_service.utils.PasswordUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 
@@ -19,7 +19,6 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
     private final JWTService jwtService;
 
     public UserDTO signUp(SignUpRequestDTO signUpRequestDTO) throws BadRequestException {
@@ -27,11 +26,11 @@ public class AuthService {
 
         if (exists) throw new BadRequestException("User already exists");
 
-        User user = modelMapper.map(signUpRequestDTO, User.class);
+        User user = UserMapper.toEntity(signUpRequestDTO);
         user.setPassword(PasswordUtil.hashPassword(signUpRequestDTO.getPassword()));
 
         User saveduser = userRepository.save(user);
-        return modelMapper.map(saveduser,UserDTO.class);
+        return UserMapper.toDTO(saveduser);
     }
 
     public String login(LoginRequestDTO loginRequestDTO) throws BadRequestException {